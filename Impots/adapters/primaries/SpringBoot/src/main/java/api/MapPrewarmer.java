@@ -0,0 +1,57 @@
+package api;
+
+import com.example.core.domain.GraphMap;
+import com.example.core.exceptions.MapNotFoundException;
+import com.example.core.port.IportMapsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import java.util.List;
+
+/**
+ * Charge et fige les cartes avant l'ouverture du port HTTP, pour que la première requête ne paie pas
+ * l'analyse du fichier. Une carte introuvable est signalée sans empêcher le démarrage.
+ */
+public class MapPrewarmer implements SmartInitializingSingleton {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MapPrewarmer.class);
+
+    private final IportMapsRepository mapsRepository;
+    private final List<Integer> maps;
+    private final boolean landmarks;
+    private final boolean hierarchies;
+
+    /**
+     * @param landmarks   préparer aussi les tables de repères de {@link com.example.core.domain.Algorithm#LANDMARKS}
+     * @param hierarchies préparer aussi les hiérarchies de
+     *                    {@link com.example.core.domain.Algorithm#CONTRACTION_HIERARCHY}
+     */
+    public MapPrewarmer(IportMapsRepository mapsRepository, List<Integer> maps, boolean landmarks,
+                        boolean hierarchies) {
+        this.mapsRepository = mapsRepository;
+        this.maps = maps;
+        this.landmarks = landmarks;
+        this.hierarchies = hierarchies;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (int map : maps) {
+            long start = System.nanoTime();
+            try {
+                GraphMap graph = mapsRepository.getGraphMap(map);
+                graph.freeze();
+                if (landmarks) {
+                    graph.prepareLandmarks();
+                }
+                if (hierarchies) {
+                    graph.prepareContractionHierarchies();
+                }
+                LOGGER.info("Map {} ready: {} towns, {} roads in {} ms", map, graph.getNumNodes(),
+                        graph.getNumEdges(), (System.nanoTime() - start) / 1_000_000);
+            } catch (MapNotFoundException | RuntimeException e) {
+                LOGGER.warn("Map {} could not be preloaded", map, e);
+            }
+        }
+    }
+}
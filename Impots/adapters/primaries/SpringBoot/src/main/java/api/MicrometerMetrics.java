@@ -0,0 +1,78 @@
+package api;
+
+import com.example.core.domain.RouteOptions;
+import com.example.core.port.IportMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publie les mesures du cœur dans Micrometer (exposées par l'actuator) :
+ * <ul>
+ *     <li>{@code routing.search} : latence des recherches, en histogramme, par critère, profil et algorithme,
+ *     avec {@code routing.search.settled}, {@code .relaxed} et {@code .heap} pour le travail effectué ;</li>
+ *     <li>{@code routing.map.load} et {@code routing.map.load.bytes} pour les chargements de cartes ;</li>
+ *     <li>{@code routing.map.requests}, étiqueté {@code cached=true|false}, pour le taux de succès du cache.</li>
+ * </ul>
+ */
+public class MicrometerMetrics implements IportMetrics {
+    private final MeterRegistry registry;
+    private final Map<List<Object>, SearchMeters> searchMeters = new ConcurrentHashMap<>();
+    private final Timer loadTime;
+    private final DistributionSummary loadBytes;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public MicrometerMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.loadTime = Timer.builder("routing.map.load").register(registry);
+        this.loadBytes = DistributionSummary.builder("routing.map.load.bytes").baseUnit("bytes").register(registry);
+        this.cacheHits = Counter.builder("routing.map.requests").tag("cached", "true").register(registry);
+        this.cacheMisses = Counter.builder("routing.map.requests").tag("cached", "false").register(registry);
+    }
+
+    @Override
+    public void routeSearched(RouteOptions options, long nanos, long settledNodes, long relaxedEdges,
+                              long heapOperations) {
+        SearchMeters meters = searchMeters.computeIfAbsent(
+                List.of(options.getMetric(), options.getProfile().getName(), options.getAlgorithm()),
+                key -> new SearchMeters(registry, Tags.of("metric", options.getMetric().name(),
+                        "profile", options.getProfile().getName(), "algorithm", options.getAlgorithm().name())));
+        meters.latency.record(nanos, TimeUnit.NANOSECONDS);
+        meters.settled.record(settledNodes);
+        meters.relaxed.record(relaxedEdges);
+        meters.heap.record(heapOperations);
+    }
+
+    @Override
+    public void mapLoaded(String source, long nanos, long bytes) {
+        loadTime.record(nanos, TimeUnit.NANOSECONDS);
+        loadBytes.record(bytes);
+    }
+
+    @Override
+    public void mapRequested(int graphNr, boolean cached) {
+        (cached ? cacheHits : cacheMisses).increment();
+    }
+
+    private static final class SearchMeters {
+        private final Timer latency;
+        private final DistributionSummary settled;
+        private final DistributionSummary relaxed;
+        private final DistributionSummary heap;
+
+        SearchMeters(MeterRegistry registry, Tags tags) {
+            latency = Timer.builder("routing.search").tags(tags).publishPercentileHistogram().register(registry);
+            settled = DistributionSummary.builder("routing.search.settled").tags(tags).register(registry);
+            relaxed = DistributionSummary.builder("routing.search.relaxed").tags(tags).register(registry);
+            heap = DistributionSummary.builder("routing.search.heap").tags(tags).register(registry);
+        }
+    }
+}
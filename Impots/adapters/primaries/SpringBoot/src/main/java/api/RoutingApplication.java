@@ -0,0 +1,15 @@
+package api;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Service HTTP de calcul d'itinéraires : {@code java -jar SpringBoot-1.0-SNAPSHOT-exec.jar}.
+ */
+@SpringBootApplication
+public class RoutingApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(RoutingApplication.class, args);
+    }
+}
@@ -0,0 +1,129 @@
+package api;
+
+import com.example.core.port.IportMapsRepository;
+import com.example.core.port.IportMetrics;
+import com.example.core.usecase.CalculMatrice;
+import com.example.core.usecase.CalculTrajectoire;
+import com.example.core.usecase.CalculTrajectoiresEnLot;
+import com.example.core.usecase.RouteCache;
+import data.MapRegistry;
+import data.ParserCSV;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Assemble l'hexagone : le registre des cartes rechargeables, les cas d'utilisation, la régulation de charge et leurs
+ * mesures Micrometer.
+ */
+@Configuration
+public class RoutingConfiguration {
+
+    @Bean
+    public IportMetrics metrics(MeterRegistry registry) {
+        return new MicrometerMetrics(registry);
+    }
+
+    /**
+     * Cartes déclarées par {@code routing.maps.<numéro>=<fichier>}, à défaut les deux cartes de
+     * {@link ParserCSV#getFilePath}. Chacune est rechargée en arrière-plan quand son fichier change.
+     */
+    @Bean(destroyMethod = "close")
+    public MapRegistry mapsRepository(Environment environment, IportMetrics metrics,
+                                      @Value("${routing.prewarm-landmarks:false}") boolean landmarks,
+                                      @Value("${routing.prewarm-hierarchies:false}") boolean hierarchies,
+                                      @Value("${routing.reload-interval:5s}") Duration reloadInterval,
+                                      @Value("${routing.reload-quiet-period:2s}") Duration quietPeriod) {
+        Map<Integer, Path> sources = Binder.get(environment)
+                .bind("routing.maps", Bindable.mapOf(Integer.class, Path.class))
+                .orElse(Map.of(1, ParserCSV.getFilePath(1), 2, ParserCSV.getFilePath(2)));
+        MapRegistry registry = new MapRegistry(sources, new ParserCSV(metrics)::load, graph -> {
+            graph.freeze();
+            if (landmarks) {
+                graph.prepareLandmarks();
+            }
+            if (hierarchies) {
+                graph.prepareContractionHierarchies();
+            }
+        }, quietPeriod, metrics);
+        registry.start(reloadInterval);
+        return registry;
+    }
+
+    @Bean
+    public RouteCache routeCache(@Value("${routing.route-cache-size:10000}") int routeCacheSize,
+                                 MeterRegistry registry) {
+        RouteCache routeCache = new RouteCache(routeCacheSize);
+        FunctionCounter.builder("routing.route.cache.requests", routeCache, RouteCache::getHitCount)
+                .tag("cached", "true").register(registry);
+        FunctionCounter.builder("routing.route.cache.requests", routeCache, RouteCache::getMissCount)
+                .tag("cached", "false").register(registry);
+        Gauge.builder("routing.route.cache.size", routeCache, RouteCache::size).register(registry);
+        return routeCache;
+    }
+
+    @Bean
+    public CalculTrajectoire calculTrajectoire(IportMapsRepository mapsRepository, RouteCache routeCache,
+                                               IportMetrics metrics) {
+        return new CalculTrajectoire(mapsRepository, routeCache, metrics);
+    }
+
+    /**
+     * Pool des lots et des matrices, aussi large que le {@link RoutingExecutor} : une seule grosse requête
+     * ne peut pas occuper plus de cœurs que les recherches simples.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool routingPool(@Value("${routing.max-concurrent:0}") int maxConcurrent) {
+        return new ForkJoinPool(threads(maxConcurrent));
+    }
+
+    @Bean
+    public CalculTrajectoiresEnLot calculTrajectoiresEnLot(IportMapsRepository mapsRepository, ForkJoinPool routingPool,
+                                                           IportMetrics metrics) {
+        return new CalculTrajectoiresEnLot(mapsRepository, routingPool, metrics);
+    }
+
+    @Bean
+    public CalculMatrice calculMatrice(IportMapsRepository mapsRepository, ForkJoinPool routingPool) {
+        return new CalculMatrice(mapsRepository, routingPool);
+    }
+
+    /**
+     * @param maxConcurrent recherches simultanées, le nombre de cœurs si 0
+     * @param queueCapacity recherches en attente au-delà desquelles on répond 429
+     * @param timeout       délai au-delà duquel on répond 503
+     */
+    @Bean
+    public RoutingExecutor routingExecutor(@Value("${routing.max-concurrent:0}") int maxConcurrent,
+                                           @Value("${routing.queue-capacity:256}") int queueCapacity,
+                                           @Value("${routing.timeout:2s}") Duration timeout,
+                                           MeterRegistry registry) {
+        RoutingExecutor executor = new RoutingExecutor(threads(maxConcurrent), queueCapacity, timeout);
+        Gauge.builder("routing.executor.pending", executor, RoutingExecutor::getPending).register(registry);
+        return executor;
+    }
+
+    @Bean
+    public MapPrewarmer mapPrewarmer(IportMapsRepository mapsRepository,
+                                     @Value("${routing.prewarm-maps:1,2}") List<Integer> maps,
+                                     @Value("${routing.prewarm-landmarks:false}") boolean landmarks,
+                                     @Value("${routing.prewarm-hierarchies:false}") boolean hierarchies) {
+        return new MapPrewarmer(mapsRepository, maps, landmarks, hierarchies);
+    }
+
+    private static int threads(int maxConcurrent) {
+        return maxConcurrent > 0 ? maxConcurrent : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,155 @@
+package api;
+
+import com.example.core.domain.Algorithm;
+import com.example.core.domain.Metric;
+import com.example.core.domain.RouteOptions;
+import com.example.core.domain.TravelMatrix;
+import com.example.core.port.IportMapsRepository;
+import com.example.core.usecase.CalculMatrice;
+import com.example.core.usecase.CalculTrajectoire;
+import com.example.core.usecase.CalculTrajectoiresEnLot;
+import com.example.core.usecase.RouteQuery;
+import com.example.core.usecase.RouteResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Point d'entrée HTTP des cas d'utilisation. Chaque requête rend tout de suite son thread HTTP et s'exécute
+ * sur le {@link RoutingExecutor} ; les erreurs sont traduites par {@link RoutingExceptionHandler}.
+ * Les lots et les matrices sont bornés en taille et s'arrêtent une fois leur délai dépassé.
+ */
+@RestController
+public class RoutingController {
+    private final CalculTrajectoire calculTrajectoire;
+    private final CalculTrajectoiresEnLot calculTrajectoiresEnLot;
+    private final CalculMatrice calculMatrice;
+    private final IportMapsRepository mapsRepository;
+    private final RoutingExecutor executor;
+    private final int maxBatch;
+    private final long maxMatrixCells;
+
+    /**
+     * @param maxBatch       nombre maximum de requêtes d'un lot, 413 au-delà
+     * @param maxMatrixCells nombre maximum de cases (origines × destinations) d'une matrice, 413 au-delà
+     */
+    public RoutingController(CalculTrajectoire calculTrajectoire, CalculTrajectoiresEnLot calculTrajectoiresEnLot,
+                             CalculMatrice calculMatrice, IportMapsRepository mapsRepository,
+                             RoutingExecutor executor, @Value("${routing.max-batch:1000}") int maxBatch,
+                             @Value("${routing.max-matrix-cells:10000}") long maxMatrixCells) {
+        this.calculTrajectoire = calculTrajectoire;
+        this.calculTrajectoiresEnLot = calculTrajectoiresEnLot;
+        this.calculMatrice = calculMatrice;
+        this.mapsRepository = mapsRepository;
+        this.executor = executor;
+        this.maxBatch = maxBatch;
+        this.maxMatrixCells = maxMatrixCells;
+    }
+
+    /**
+     * {@code GET /route?map=1&from=Béziers&to=Avignon&fastest=true}. Une hiérarchie de contraction ou des
+     * tables de repères qui n'ont pas été préparées au chargement de la carte ne sont pas construites
+     * pendant la requête : elle est refusée (422).
+     */
+    @GetMapping("/route")
+    public CompletableFuture<RouteResponse> route(@RequestParam(defaultValue = "1") int map,
+                                                  @RequestParam String from, @RequestParam String to,
+                                                  @RequestParam(defaultValue = "false") boolean sansAutoroutes,
+                                                  @RequestParam(defaultValue = "false") boolean fastest,
+                                                  @RequestParam(defaultValue = "DIJKSTRA") Algorithm algorithm) {
+        RouteOptions options = RouteOptions.of(sansAutoroutes, fastest).withAlgorithm(algorithm);
+        return executor.submit(() -> {
+            if (!mapsRepository.getGraphMap(map).isPrepared(options)) {
+                throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Algorithm " + algorithm + " is not prepared for map " + map);
+            }
+            return RouteResponse.of(calculTrajectoire.execute(map, from, to, options));
+        });
+    }
+
+    /**
+     * Lot de requêtes, éventuellement sur plusieurs cartes : une réponse par requête, dans le même ordre,
+     * avec son erreur éventuelle.
+     */
+    @PostMapping("/routes")
+    public CompletableFuture<List<RouteResponse>> routes(@RequestBody List<BatchQuery> queries) {
+        if (queries.size() > maxBatch) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "At most " + maxBatch + " queries per batch");
+        }
+        List<RouteQuery> routeQueries = new ArrayList<>(queries.size());
+        for (BatchQuery query : queries) {
+            routeQueries.add(new RouteQuery(query.map(), query.from(), query.to(), query.sansAutoroutes(),
+                    query.fastest()));
+        }
+        return executor.submit(cancelled -> {
+            List<RouteResponse> responses = new ArrayList<>(routeQueries.size());
+            for (RouteResult result : calculTrajectoiresEnLot.execute(routeQueries, cancelled)) {
+                responses.add(result.isSuccess() ? RouteResponse.of(result.getRoute())
+                        : RouteResponse.failed(String.valueOf(result.getError().getMessage())));
+            }
+            return responses;
+        });
+    }
+
+    /**
+     * Matrice origines × destinations : km et dixièmes de minute par case, -1 si la case est inatteignable.
+     */
+    @PostMapping("/matrix")
+    public CompletableFuture<MatrixResponse> matrix(@RequestBody MatrixQuery query) {
+        if ((long) query.origins().size() * query.destinations().size() > maxMatrixCells) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "At most " + maxMatrixCells + " cells per matrix");
+        }
+        RouteOptions options = new RouteOptions(query.sansAutoroutes(), query.fastest() ? Metric.TIME : Metric.DISTANCE);
+        return executor.submit(cancelled -> MatrixResponse.of(
+                calculMatrice.execute(query.map(), query.origins(), query.destinations(), options, false, cancelled)));
+    }
+
+    public record BatchQuery(int map, String from, String to, boolean sansAutoroutes, boolean fastest) {
+    }
+
+    public record MatrixQuery(int map, List<String> origins, List<String> destinations, boolean sansAutoroutes,
+                              boolean fastest) {
+    }
+
+    /**
+     * @param route [ville, route, ville, ...], absent si la requête a échoué
+     * @param error cause de l'échec, absente si la requête a abouti
+     */
+    public record RouteResponse(List<String> route, String error) {
+        static RouteResponse of(List<String> route) {
+            return new RouteResponse(route, null);
+        }
+
+        static RouteResponse failed(String error) {
+            return new RouteResponse(null, error);
+        }
+    }
+
+    public record MatrixResponse(List<String> origins, List<String> destinations, int[][] kilometres,
+                                 int[][] travelTimes) {
+        static MatrixResponse of(TravelMatrix matrix) {
+            int rows = matrix.getOrigins().size();
+            int columns = matrix.getDestinations().size();
+            int[][] kilometres = new int[rows][columns];
+            int[][] travelTimes = new int[rows][columns];
+            for (int origin = 0; origin < rows; origin++) {
+                for (int destination = 0; destination < columns; destination++) {
+                    kilometres[origin][destination] = matrix.getKilometres(origin, destination);
+                    travelTimes[origin][destination] = matrix.getTravelTime(origin, destination);
+                }
+            }
+            return new MatrixResponse(matrix.getOrigins(), matrix.getDestinations(), kilometres, travelTimes);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package api;
+
+import com.example.core.exceptions.MapNotFoundException;
+import com.example.core.exceptions.UnknownTownException;
+import com.example.core.exceptions.UnreachableDestinationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Traduit les erreurs des cas d'utilisation et de la régulation de charge en codes HTTP.
+ */
+@RestControllerAdvice
+public class RoutingExceptionHandler {
+
+    /**
+     * La cause (fichier illisible, ligne mal formée...) est jointe au message.
+     */
+    @ExceptionHandler(MapNotFoundException.class)
+    public ResponseEntity<Map<String, String>> mapNotFound(MapNotFoundException e) {
+        String message = e.getCause() == null ? e.getMessage() : e.getMessage() + " " + e.getCause().getMessage();
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", message));
+    }
+
+    @ExceptionHandler(UnknownTownException.class)
+    public ResponseEntity<Map<String, String>> notFound(UnknownTownException e) {
+        return error(HttpStatus.NOT_FOUND, e);
+    }
+
+    @ExceptionHandler(UnreachableDestinationException.class)
+    public ResponseEntity<Map<String, String>> unreachable(UnreachableDestinationException e) {
+        return error(HttpStatus.UNPROCESSABLE_ENTITY, e);
+    }
+
+    /**
+     * Toutes les places du {@link RoutingExecutor} sont prises : le client doit réessayer plus tard.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, String>> overloaded(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", "Too many concurrent requests"));
+    }
+
+    /**
+     * Requête refusée par le contrôleur lui-même : lot trop grand (413), algorithme non préparé (422)...
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<Map<String, String>> rejected(ResponseStatusException e) {
+        return ResponseEntity.status(e.getStatusCode()).body(Map.of("error", String.valueOf(e.getReason())));
+    }
+
+    @ExceptionHandler(TimeoutException.class)
+    public ResponseEntity<Map<String, String>> timeout(TimeoutException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("error", "Request timed out"));
+    }
+
+    private static ResponseEntity<Map<String, String>> error(HttpStatus status, Exception e) {
+        return ResponseEntity.status(status).body(Map.of("error", String.valueOf(e.getMessage())));
+    }
+}
@@ -0,0 +1,83 @@
+package api;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Exécute les recherches hors des threads HTTP, avec une concurrence bornée :
+ * <ul>
+ *     <li>au plus {@code threads} recherches en même temps et {@code queueCapacity} en attente ; au-delà la
+ *     requête est refusée tout de suite ({@link RejectedExecutionException}, soit 429) ;</li>
+ *     <li>une requête qui n'a pas abouti dans le délai échoue avec une {@link java.util.concurrent.TimeoutException},
+ *     et n'est pas lancée si elle attendait encore dans la file ; une recherche qui sait s'interrompre
+ *     ({@link CancellableSearch}) s'arrête dès que le délai est dépassé.</li>
+ * </ul>
+ */
+public class RoutingExecutor implements AutoCloseable {
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+
+    public RoutingExecutor(int threads, int queueCapacity, Duration timeout) {
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : new SynchronousQueue<>(), task -> {
+            Thread thread = new Thread(task, "routing-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.timeout = timeout;
+    }
+
+    /**
+     * Recherche longue (lot, matrice) qui consulte {@code cancelled} pour s'arrêter une fois sa réponse
+     * abandonnée.
+     */
+    public interface CancellableSearch<T> {
+        T call(BooleanSupplier cancelled) throws Exception;
+    }
+
+    /**
+     * @throws RejectedExecutionException si toutes les places sont prises
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> search) {
+        return submit(cancelled -> search.call());
+    }
+
+    /**
+     * @throws RejectedExecutionException si toutes les places sont prises
+     */
+    public <T> CompletableFuture<T> submit(CancellableSearch<T> search) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                result.complete(search.call(result::isDone));
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return nombre de recherches en cours ou en attente
+     */
+    public int getPending() {
+        return executor.getActiveCount() + executor.getQueue().size();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
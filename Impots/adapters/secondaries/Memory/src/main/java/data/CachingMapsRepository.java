@@ -0,0 +1,163 @@
+package data;
+
+import com.example.core.domain.GraphMap;
+import com.example.core.exceptions.MapNotFoundException;
+import com.example.core.port.IportMapsRepository;
+import com.example.core.port.IportMetrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * Garde en mémoire les cartes déjà chargées par un autre dépôt.
+ * <ul>
+ *     <li>éviction LRU dès que le nombre de cartes ou le nombre total de routes dépasse la borne ;</li>
+ *     <li>un seul chargement par carte même si plusieurs requêtes la demandent en même temps ;</li>
+ *     <li>la carte est rechargée quand la date de modification de son fichier change.</li>
+ * </ul>
+ */
+public class CachingMapsRepository implements IportMapsRepository {
+    private static final long UNKNOWN_VERSION = -1;
+
+    private final IportMapsRepository delegate;
+    private final IntFunction<Path> sources;
+    private final int maxMaps;
+    private final long maxEdges;
+    private final IportMetrics metrics;
+    private final LinkedHashMap<Integer, CachedMap> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Integer, CompletableFuture<GraphMap>> loading = new ConcurrentHashMap<>();
+    private long cachedEdges;
+
+    /**
+     * @param delegate dépôt qui charge réellement les cartes
+     * @param sources  fichier source de chaque carte, pour détecter les modifications (peut renvoyer null)
+     * @param maxMaps  nombre maximum de cartes gardées en mémoire
+     * @param maxEdges nombre maximum de routes, toutes cartes confondues
+     */
+    public CachingMapsRepository(IportMapsRepository delegate, IntFunction<Path> sources, int maxMaps, long maxEdges) {
+        this(delegate, sources, maxMaps, maxEdges, IportMetrics.NONE);
+    }
+
+    /**
+     * @param metrics reçoit chaque demande de carte, servie par le cache ou non
+     */
+    public CachingMapsRepository(IportMapsRepository delegate, IntFunction<Path> sources, int maxMaps, long maxEdges,
+                                 IportMetrics metrics) {
+        this.delegate = delegate;
+        this.sources = sources;
+        this.maxMaps = maxMaps;
+        this.maxEdges = maxEdges;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public GraphMap getGraphMap(int graphNr) throws MapNotFoundException {
+        long version = sourceVersion(graphNr);
+        synchronized (cache) {
+            CachedMap cached = cache.get(graphNr);
+            if (cached != null && cached.version == version) {
+                metrics.mapRequested(graphNr, true);
+                return cached.graph;
+            }
+        }
+        metrics.mapRequested(graphNr, false);
+
+        CompletableFuture<GraphMap> load = new CompletableFuture<>();
+        CompletableFuture<GraphMap> inFlight = loading.putIfAbsent(graphNr, load);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+        try {
+            GraphMap graph = delegate.getGraphMap(graphNr);
+            graph.freeze();
+            store(graphNr, new CachedMap(graph, version));
+            load.complete(graph);
+            return graph;
+        } catch (MapNotFoundException | RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(graphNr, load);
+        }
+    }
+
+    public void invalidate(int graphNr) {
+        synchronized (cache) {
+            CachedMap removed = cache.remove(graphNr);
+            if (removed != null) {
+                cachedEdges -= removed.graph.getNumEdges();
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (cache) {
+            cache.clear();
+            cachedEdges = 0;
+        }
+    }
+
+    private void store(int graphNr, CachedMap loaded) {
+        synchronized (cache) {
+            CachedMap previous = cache.put(graphNr, loaded);
+            if (previous != null) {
+                cachedEdges -= previous.graph.getNumEdges();
+            }
+            cachedEdges += loaded.graph.getNumEdges();
+
+            Iterator<Map.Entry<Integer, CachedMap>> eldest = cache.entrySet().iterator();
+            while ((cache.size() > maxMaps || cachedEdges > maxEdges) && cache.size() > 1) {
+                Map.Entry<Integer, CachedMap> entry = eldest.next();
+                if (entry.getKey() == graphNr) {
+                    continue;
+                }
+                cachedEdges -= entry.getValue().graph.getNumEdges();
+                eldest.remove();
+            }
+        }
+    }
+
+    private long sourceVersion(int graphNr) {
+        Path source = sources.apply(graphNr);
+        if (source == null) {
+            return UNKNOWN_VERSION;
+        }
+        try {
+            return Files.getLastModifiedTime(source).toMillis();
+        } catch (IOException e) {
+            return UNKNOWN_VERSION;
+        }
+    }
+
+    private static GraphMap await(CompletableFuture<GraphMap> inFlight) throws MapNotFoundException {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof MapNotFoundException) {
+                throw (MapNotFoundException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static class CachedMap {
+        private final GraphMap graph;
+        private final long version;
+
+        CachedMap(GraphMap graph, long version) {
+            this.graph = graph;
+            this.version = version;
+        }
+    }
+}
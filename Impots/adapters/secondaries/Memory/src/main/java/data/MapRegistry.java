@@ -0,0 +1,233 @@
+package data;
+
+import com.example.core.domain.GraphMap;
+import com.example.core.exceptions.MapNotFoundException;
+import com.example.core.port.IportMapsRepository;
+import com.example.core.port.IportMetrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Registre des cartes (numéro → fichier source), rechargées en arrière-plan quand leur fichier change.
+ * <ul>
+ *     <li>la nouvelle version est lue et préparée (forme figée, index...) hors du chemin des requêtes ;</li>
+ *     <li>elle remplace l'ancienne d'un seul coup : les requêtes en cours finissent sur l'ancienne version,
+ *     les suivantes voient la nouvelle, et l'ancienne est libérée dès que plus personne ne la tient ;</li>
+ *     <li>un chargement en échec garde la version en service et n'est retenté qu'au prochain changement du
+ *     fichier ; d'ici là, une carte jamais chargée est refusée sans relire le fichier ;</li>
+ *     <li>un fichier modifié depuis moins de {@code quietPeriod} est considéré comme en cours d'écriture et
+ *     n'est pas lu ;</li>
+ *     <li>chaque carte n'a qu'un chargement en cours à la fois, partagé par les requêtes qui l'attendent,
+ *     et le chargement d'une carte ne retarde pas les autres.</li>
+ * </ul>
+ */
+public class MapRegistry implements IportMapsRepository, AutoCloseable {
+    private final Map<Integer, Path> sources;
+    private final MapLoader loader;
+    private final Consumer<GraphMap> preparation;
+    private final Duration quietPeriod;
+    private final IportMetrics metrics;
+    private final Map<Integer, LoadedMap> maps = new ConcurrentHashMap<>();
+    private final Map<Integer, Failure> failures = new ConcurrentHashMap<>();
+    private final Map<Integer, CompletableFuture<Void>> loading = new ConcurrentHashMap<>();
+    private ScheduledExecutorService watcher;
+
+    /**
+     * Lit une carte depuis son fichier.
+     */
+    public interface MapLoader {
+        GraphMap load(Path file) throws IOException;
+    }
+
+    /**
+     * @param sources     fichier de chaque numéro de carte
+     * @param loader      lecture d'un fichier, par exemple {@code new ParserCSV()::load}
+     * @param preparation index construits avant la mise en service, {@link GraphMap#freeze()} au minimum
+     * @param quietPeriod ancienneté minimale du fichier avant rechargement
+     */
+    public MapRegistry(Map<Integer, Path> sources, MapLoader loader, Consumer<GraphMap> preparation,
+                       Duration quietPeriod) {
+        this(sources, loader, preparation, quietPeriod, IportMetrics.NONE);
+    }
+
+    /**
+     * @param metrics reçoit chaque demande de carte, servie par une version déjà chargée ou non
+     */
+    public MapRegistry(Map<Integer, Path> sources, MapLoader loader, Consumer<GraphMap> preparation,
+                       Duration quietPeriod, IportMetrics metrics) {
+        this.sources = Map.copyOf(sources);
+        this.loader = loader;
+        this.preparation = preparation;
+        this.quietPeriod = quietPeriod;
+        this.metrics = metrics;
+    }
+
+    public MapRegistry(Map<Integer, Path> sources) {
+        this(sources, new ParserCSV()::load, GraphMap::freeze, Duration.ofSeconds(2));
+    }
+
+    /**
+     * Charge toutes les cartes dont le fichier est stable (dans le thread appelant), puis surveille leurs
+     * fichiers toutes les {@code pollInterval}.
+     */
+    public synchronized void start(Duration pollInterval) {
+        refresh();
+        if (watcher == null) {
+            watcher = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "map-registry");
+                thread.setDaemon(true);
+                return thread;
+            });
+            watcher.scheduleWithFixedDelay(this::refresh, pollInterval.toMillis(), pollInterval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Recharge les cartes dont le fichier a changé depuis leur chargement et ne change plus.
+     */
+    public void refresh() {
+        for (Map.Entry<Integer, Path> source : sources.entrySet()) {
+            refresh(source.getKey(), source.getValue());
+        }
+    }
+
+    /**
+     * @return le chargement en cours de cette carte, ou un chargement terminé s'il n'y a rien à relire
+     */
+    private CompletableFuture<Void> refresh(int graphNr, Path file) {
+        FileVersion version;
+        try {
+            version = FileVersion.of(file);
+        } catch (IOException e) {
+            failures.put(graphNr, new Failure(null, e));
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!needsLoad(graphNr, version)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> load = new CompletableFuture<>();
+        CompletableFuture<Void> inFlight = loading.putIfAbsent(graphNr, load);
+        if (inFlight != null) {
+            return inFlight;
+        }
+        try {
+            // un chargement concurrent a pu se terminer entre la vérification et la réservation
+            if (!needsLoad(graphNr, version)) {
+                return load;
+            }
+            GraphMap graph = loader.load(file);
+            preparation.accept(graph);
+            maps.put(graphNr, new LoadedMap(graph, version));
+            failures.remove(graphNr);
+        } catch (IOException | RuntimeException e) {
+            failures.put(graphNr, new Failure(version, e));
+        } finally {
+            loading.remove(graphNr, load);
+            load.complete(null);
+        }
+        return load;
+    }
+
+    private boolean needsLoad(int graphNr, FileVersion version) {
+        LoadedMap current = maps.get(graphNr);
+        Failure failure = failures.get(graphNr);
+        return (current == null || !current.version.equals(version))
+                && (failure == null || !version.equals(failure.version))
+                && System.currentTimeMillis() - version.lastModified >= quietPeriod.toMillis();
+    }
+
+    @Override
+    public GraphMap getGraphMap(int graphNr) throws MapNotFoundException {
+        LoadedMap current = maps.get(graphNr);
+        metrics.mapRequested(graphNr, current != null);
+        if (current != null) {
+            return current.graph;
+        }
+        Path file = sources.get(graphNr);
+        if (file == null) {
+            throw new MapNotFoundException("Map not found!", null);
+        }
+        // première demande avant le chargement initial, ou chargement initial en échec
+        refresh(graphNr, file).join();
+        current = maps.get(graphNr);
+        if (current == null) {
+            throw new MapNotFoundException("Map not found!", getLastFailure(graphNr));
+        }
+        return current.graph;
+    }
+
+    /**
+     * @return l'erreur du dernier chargement raté de cette carte, ou null si le dernier a réussi
+     */
+    public Exception getLastFailure(int graphNr) {
+        Failure failure = failures.get(graphNr);
+        return failure == null ? null : failure.error;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+            watcher = null;
+        }
+    }
+
+    private static final class LoadedMap {
+        private final GraphMap graph;
+        private final FileVersion version;
+
+        LoadedMap(GraphMap graph, FileVersion version) {
+            this.graph = graph;
+            this.version = version;
+        }
+    }
+
+    private static final class Failure {
+        private final FileVersion version;
+        private final Exception error;
+
+        Failure(FileVersion version, Exception error) {
+            this.version = version;
+            this.error = error;
+        }
+    }
+
+    private static final class FileVersion {
+        private final long lastModified;
+        private final long size;
+
+        private FileVersion(long lastModified, long size) {
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        static FileVersion of(Path file) throws IOException {
+            return new FileVersion(Files.getLastModifiedTime(file).toMillis(), Files.size(file));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof FileVersion)) {
+                return false;
+            }
+            FileVersion other = (FileVersion) o;
+            return lastModified == other.lastModified && size == other.size;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(lastModified) * 31 + Long.hashCode(size);
+        }
+    }
+}
@@ -3,16 +3,34 @@ package data;
 import com.example.core.domain.GraphMap;
 import com.example.core.exceptions.MapNotFoundException;
 import com.example.core.port.IportMapsRepository;
-
-import javax.swing.text.html.parser.Parser;
+import com.example.core.port.IportMetrics;
 
 public class MapsRepository implements IportMapsRepository {
+    private static final int MAX_MAPS = 4;
+    private static final long MAX_EDGES = 20_000_000L;
+    private static final CachingMapsRepository SHARED_CACHE =
+            new CachingMapsRepository(new ParserCSV(), ParserCSV::getFilePath, MAX_MAPS, MAX_EDGES);
+
+    private final CachingMapsRepository cache;
+
+    public MapsRepository() {
+        this(SHARED_CACHE);
+    }
+
+    /**
+     * Cache propre à ce dépôt, dont les chargements et les demandes de cartes sont transmis à {@code metrics}.
+     */
+    public MapsRepository(IportMetrics metrics) {
+        this(new CachingMapsRepository(new ParserCSV(metrics), ParserCSV::getFilePath, MAX_MAPS, MAX_EDGES, metrics));
+    }
+
+    public MapsRepository(CachingMapsRepository cache) {
+        this.cache = cache;
+    }
 
     @Override
     public GraphMap getGraphMap(int graphNr) throws MapNotFoundException {
-        ParserCSV parserCSV = new ParserCSV();
-
-        return parserCSV.getGraphMap(graphNr);
+        return cache.getGraphMap(graphNr);
 
 //        GraphMap graph1 = new GraphMap();
 //        graph1.addEdge("Béziers", "Montpellier", 83, 70, "RN113");
@@ -0,0 +1,73 @@
+package data;
+
+import com.example.core.domain.CompactGraph;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Compile une carte CSV au format binaire, une fois pour toutes, avec ses tables de repères
+ * ({@link LandmarkFormat}).
+ * <p>
+ * Usage : {@code BinaryMapConverter carte.csv [carte.bin]}
+ */
+public final class BinaryMapConverter {
+    private static final String EXTENSION = ".bin";
+    private static final String LANDMARKS_EXTENSION = ".landmarks";
+
+    private BinaryMapConverter() {
+    }
+
+    public static void convert(Path csvFile, Path binaryFile) throws IOException {
+        CompactGraph graph = new ParserCSV().load(csvFile).freeze();
+        BinaryMapFormat.write(graph, binaryFile);
+        LandmarkFormat.write(graph, graph.getLandmarks(), landmarksPathOf(binaryFile));
+    }
+
+    /**
+     * Compile le CSV seulement si le fichier binaire ou ses repères sont absents, si le binaire est d'une autre
+     * version du format, ou s'il est plus ancien que le CSV (ou que son fichier de coordonnées).
+     */
+    public static Path convertIfStale(Path csvFile) throws IOException {
+        Path binaryFile = binaryPathOf(csvFile);
+        Path coordinates = ParserCSV.coordinatesPathOf(csvFile);
+        if (!BinaryMapFormat.isCurrentVersion(binaryFile) || !Files.exists(landmarksPathOf(binaryFile))
+                || isOlder(binaryFile, csvFile)
+                || (Files.exists(coordinates) && isOlder(binaryFile, coordinates))) {
+            convert(csvFile, binaryFile);
+        }
+        return binaryFile;
+    }
+
+    private static boolean isOlder(Path file, Path other) throws IOException {
+        return Files.getLastModifiedTime(file).compareTo(Files.getLastModifiedTime(other)) < 0;
+    }
+
+    public static Path binaryPathOf(Path csvFile) {
+        String name = csvFile.getFileName().toString();
+        int extension = name.lastIndexOf('.');
+        return csvFile.resolveSibling((extension < 0 ? name : name.substring(0, extension)) + EXTENSION);
+    }
+
+    /**
+     * @return {@code carte.landmarks} pour {@code carte.bin}
+     */
+    public static Path landmarksPathOf(Path binaryFile) {
+        String name = binaryFile.getFileName().toString();
+        int extension = name.lastIndexOf('.');
+        return binaryFile.resolveSibling((extension < 0 ? name : name.substring(0, extension)) + LANDMARKS_EXTENSION);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: BinaryMapConverter <map.csv> [map.bin]");
+            System.exit(1);
+        }
+        Path csvFile = Paths.get(args[0]);
+        Path binaryFile = args.length == 2 ? Paths.get(args[1]) : binaryPathOf(csvFile);
+        convert(csvFile, binaryFile);
+        System.out.println(binaryFile);
+    }
+}
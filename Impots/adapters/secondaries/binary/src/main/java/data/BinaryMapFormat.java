@@ -0,0 +1,229 @@
+package data;
+
+import com.example.core.domain.CompactGraph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Format binaire versionné d'une carte figée, lu par projection mémoire puis recopié en tableaux du tas.
+ *
+ * <pre>
+ * en-tête (8 int)  : magic, version, villes, arcs, routes, octets des noms de villes, octets des noms de routes, options
+ * int[villes + 1]  : offsets CSR
+ * int[arcs]        : cibles
+ * int[arcs]        : km
+ * float[arcs]      : vitesses
+ * int[arcs]        : numéro de route de chaque arc
+ * int[villes + 1]  : début de chaque nom de ville dans le bloc des noms
+ * int[routes + 1]  : début de chaque nom de route dans le bloc des noms
+ * octets           : drapeaux autoroute (un bit par route), puis noms de villes et de routes en UTF-8
+ * double[villes]   : latitudes puis longitudes, seulement si l'option {@code COORDINATES} est présente
+ * </pre>
+ * Tous les entiers sont en little-endian et chaque section commence sur un multiple de 4 octets.
+ */
+public final class BinaryMapFormat {
+    static final int MAGIC = 0x50414d54;
+    static final int VERSION = 2;
+    private static final int HEADER_INTS = 8;
+    private static final int COORDINATES = 1;
+
+    private BinaryMapFormat() {
+    }
+
+    public static void write(CompactGraph graph, Path file) throws IOException {
+        int numNodes = graph.getNumNodes();
+        int numArcs = graph.getNumArcs();
+        int numRoads = graph.getNumRoads();
+
+        byte[][] nodeNames = new byte[numNodes][];
+        int nodeNameBytes = 0;
+        for (int node = 0; node < numNodes; node++) {
+            nodeNames[node] = graph.getNodeName(node).getBytes(StandardCharsets.UTF_8);
+            nodeNameBytes += nodeNames[node].length;
+        }
+        byte[][] roadNames = new byte[numRoads][];
+        int roadNameBytes = 0;
+        for (int road = 0; road < numRoads; road++) {
+            roadNames[road] = graph.getRoadName(road).getBytes(StandardCharsets.UTF_8);
+            roadNameBytes += roadNames[road].length;
+        }
+
+        boolean coordinates = graph.hasCoordinates();
+        long size = 4L * (HEADER_INTS + (numNodes + 1) + 4L * numArcs + (numNodes + 1) + (numRoads + 1))
+                + align((numRoads + 7) / 8) + align(nodeNameBytes) + align(roadNameBytes)
+                + (coordinates ? 16L * numNodes : 0);
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Map too large for a single mapping: " + size + " bytes");
+        }
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(numNodes).putInt(numArcs).putInt(numRoads)
+                    .putInt(nodeNameBytes).putInt(roadNameBytes).putInt(coordinates ? COORDINATES : 0);
+
+            for (int node = 0; node <= numNodes; node++) {
+                buffer.putInt(graph.getFirstArc(node));
+            }
+            for (int arc = 0; arc < numArcs; arc++) {
+                buffer.putInt(graph.getArcTarget(arc));
+            }
+            for (int arc = 0; arc < numArcs; arc++) {
+                buffer.putInt(graph.getArcWeight(arc));
+            }
+            for (int arc = 0; arc < numArcs; arc++) {
+                buffer.putFloat(graph.getArcSpeed(arc));
+            }
+            for (int arc = 0; arc < numArcs; arc++) {
+                buffer.putInt(graph.getArcRoad(arc));
+            }
+            putNameOffsets(buffer, nodeNames);
+            putNameOffsets(buffer, roadNames);
+
+            byte[] autoroutes = new byte[align((numRoads + 7) / 8)];
+            for (int road = 0; road < numRoads; road++) {
+                if (graph.isAutoroute(road)) {
+                    autoroutes[road >>> 3] |= (byte) (1 << (road & 7));
+                }
+            }
+            buffer.put(autoroutes);
+            putNames(buffer, nodeNames, nodeNameBytes);
+            putNames(buffer, roadNames, roadNameBytes);
+            if (coordinates) {
+                for (int node = 0; node < numNodes; node++) {
+                    buffer.putDouble(graph.getLatitude(node));
+                }
+                for (int node = 0; node < numNodes; node++) {
+                    buffer.putDouble(graph.getLongitude(node));
+                }
+            }
+            buffer.force();
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return vrai si le fichier existe et a été écrit dans la version actuelle du format
+     */
+    public static boolean isCurrentVersion(Path file) throws IOException {
+        if (!Files.exists(file) || Files.size(file) < 2 * Integer.BYTES) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(2 * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    return false;
+                }
+            }
+            header.flip();
+            return header.getInt() == MAGIC && header.getInt() == VERSION;
+        }
+    }
+
+    /**
+     * Projette le fichier en mémoire et en recopie les sections en bloc dans les tableaux du graphe.
+     */
+    public static CompactGraph read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a binary map: " + file);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary map version " + version + ": " + file);
+            }
+            int numNodes = buffer.getInt();
+            int numArcs = buffer.getInt();
+            int numRoads = buffer.getInt();
+            int nodeNameBytes = buffer.getInt();
+            int roadNameBytes = buffer.getInt();
+            int flags = buffer.getInt();
+
+            int[] offsets = getInts(buffer, numNodes + 1);
+            int[] targets = getInts(buffer, numArcs);
+            int[] weights = getInts(buffer, numArcs);
+            float[] speeds = new float[numArcs];
+            buffer.asFloatBuffer().get(speeds);
+            buffer.position(buffer.position() + 4 * numArcs);
+            int[] roads = getInts(buffer, numArcs);
+            int[] nodeNameOffsets = getInts(buffer, numNodes + 1);
+            int[] roadNameOffsets = getInts(buffer, numRoads + 1);
+
+            byte[] autorouteBits = new byte[align((numRoads + 7) / 8)];
+            buffer.get(autorouteBits);
+            boolean[] autoroutes = new boolean[numRoads];
+            for (int road = 0; road < numRoads; road++) {
+                autoroutes[road] = (autorouteBits[road >>> 3] & (1 << (road & 7))) != 0;
+            }
+            String[] nodeNames = getNames(buffer, nodeNameOffsets, nodeNameBytes);
+            String[] roadNames = getNames(buffer, roadNameOffsets, roadNameBytes);
+
+            CompactGraph graph = CompactGraph.fromArrays(nodeNames, offsets, targets, weights, speeds, roads,
+                    roadNames, autoroutes);
+            if ((flags & COORDINATES) != 0) {
+                double[] latitudes = getDoubles(buffer, numNodes);
+                double[] longitudes = getDoubles(buffer, numNodes);
+                graph = graph.withCoordinates(latitudes, longitudes);
+            }
+            return graph;
+        }
+    }
+
+    private static int[] getInts(ByteBuffer buffer, int count) {
+        int[] values = new int[count];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + 4 * count);
+        return values;
+    }
+
+    private static double[] getDoubles(ByteBuffer buffer, int count) {
+        double[] values = new double[count];
+        buffer.asDoubleBuffer().get(values);
+        buffer.position(buffer.position() + 8 * count);
+        return values;
+    }
+
+    private static String[] getNames(ByteBuffer buffer, int[] nameOffsets, int totalBytes) {
+        byte[] bytes = new byte[align(totalBytes)];
+        buffer.get(bytes);
+        String[] names = new String[nameOffsets.length - 1];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = new String(bytes, nameOffsets[i], nameOffsets[i + 1] - nameOffsets[i], StandardCharsets.UTF_8);
+        }
+        return names;
+    }
+
+    private static void putNameOffsets(ByteBuffer buffer, byte[][] names) {
+        int offset = 0;
+        for (byte[] name : names) {
+            buffer.putInt(offset);
+            offset += name.length;
+        }
+        buffer.putInt(offset);
+    }
+
+    private static void putNames(ByteBuffer buffer, byte[][] names, int totalBytes) {
+        for (byte[] name : names) {
+            buffer.put(name);
+        }
+        buffer.position(buffer.position() + align(totalBytes) - totalBytes);
+    }
+
+    private static int align(int bytes) {
+        return (bytes + 3) & ~3;
+    }
+}
@@ -0,0 +1,104 @@
+package data;
+
+import com.example.core.domain.CompactGraph;
+import com.example.core.domain.GraphMap;
+import com.example.core.domain.Landmarks;
+import com.example.core.exceptions.MapNotFoundException;
+import com.example.core.port.IportMapsRepository;
+import com.example.core.port.IportMetrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * Dépôt de cartes précompilées au format {@link BinaryMapFormat}. Le fichier est lu d'un bloc au lieu d'être
+ * analysé ligne par ligne, mais ses sections sont recopiées dans le tas de chaque JVM et les adjacences des
+ * profils et leurs composantes connexes sont recalculées au chargement ; les tables de repères rangées à côté
+ * sont reprises si elles correspondent encore à la carte.
+ * Chaque carte n'est chargée qu'une fois, puis de nouveau seulement si la date ou la taille de son fichier change.
+ */
+public class BinaryMapsRepository implements IportMapsRepository {
+    private final IntFunction<Path> sources;
+    private final IportMetrics metrics;
+    private final Map<Integer, LoadedMap> loaded = new ConcurrentHashMap<>();
+
+    public BinaryMapsRepository() {
+        this(graphNr -> BinaryMapConverter.binaryPathOf(ParserCSV.getFilePath(graphNr)));
+    }
+
+    /**
+     * @param sources fichier binaire de chaque numéro de carte
+     */
+    public BinaryMapsRepository(IntFunction<Path> sources) {
+        this(sources, IportMetrics.NONE);
+    }
+
+    /**
+     * @param metrics reçoit la durée et la taille de chaque chargement
+     */
+    public BinaryMapsRepository(IntFunction<Path> sources, IportMetrics metrics) {
+        this.sources = sources;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public GraphMap getGraphMap(int graphNr) throws MapNotFoundException {
+        try {
+            Path file = sources.apply(graphNr);
+            long modified = Files.getLastModifiedTime(file).toMillis();
+            long size = Files.size(file);
+            LoadedMap current = loaded.get(graphNr);
+            if (current != null && current.isVersion(modified, size)) {
+                metrics.mapRequested(graphNr, true);
+                return current.graph;
+            }
+            metrics.mapRequested(graphNr, false);
+            // compute ne laisse passer qu'un chargement à la fois pour un même numéro de carte
+            return loaded.compute(graphNr, (nr, previous) -> previous != null && previous.isVersion(modified, size)
+                    ? previous : load(file, modified, size)).graph;
+        } catch (Exception e) {
+            Exception cause = e instanceof UncheckedIOException ? ((UncheckedIOException) e).getCause() : e;
+            throw new MapNotFoundException("Map not found!", cause);
+        }
+    }
+
+    private LoadedMap load(Path file, long modified, long size) {
+        try {
+            long begin = System.nanoTime();
+            CompactGraph graph = BinaryMapFormat.read(file);
+            Landmarks landmarks = LandmarkFormat.read(BinaryMapConverter.landmarksPathOf(file), graph);
+            if (landmarks != null) {
+                graph.useLandmarks(landmarks);
+            }
+            metrics.mapLoaded(file.toString(), System.nanoTime() - begin, size);
+            return new LoadedMap(GraphMap.of(graph), modified, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Path getFilePath(int graphNr) {
+        return sources.apply(graphNr);
+    }
+
+    private static final class LoadedMap {
+        private final GraphMap graph;
+        private final long modified;
+        private final long size;
+
+        LoadedMap(GraphMap graph, long modified, long size) {
+            this.graph = graph;
+            this.modified = modified;
+            this.size = size;
+        }
+
+        boolean isVersion(long modified, long size) {
+            return this.modified == modified && this.size == size;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package data;
+
+import com.example.core.domain.CompactGraph;
+import com.example.core.domain.Landmarks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Tables de repères ({@link Landmarks}) rangées à côté de la carte binaire, pour ne pas les recalculer à
+ * chaque démarrage.
+ *
+ * <pre>
+ * en-tête (6 int)         : magic, version, villes, arcs, repères, empreinte de la carte
+ * int[repères]            : ville de chaque repère
+ * int[repères * villes]   : km depuis chaque repère
+ * int[repères * villes]   : dixièmes de minute depuis chaque repère
+ * </pre>
+ * L'empreinte porte sur la topologie, les km et les temps de parcours : des tables calculées pour une autre
+ * version de la carte ne sont pas relues.
+ */
+public final class LandmarkFormat {
+    static final int MAGIC = 0x4c4d524b;
+    static final int VERSION = 1;
+    private static final int HEADER_INTS = 6;
+
+    private LandmarkFormat() {
+    }
+
+    public static void write(CompactGraph graph, Landmarks landmarks, Path file) throws IOException {
+        int numNodes = graph.getNumNodes();
+        int count = landmarks.getCount();
+        long size = 4L * (HEADER_INTS + count + 2L * count * numNodes);
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Landmark tables too large for a single mapping: " + size + " bytes");
+        }
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(numNodes).putInt(graph.getNumArcs()).putInt(count)
+                    .putInt(fingerprint(graph));
+            for (int landmark = 0; landmark < count; landmark++) {
+                buffer.putInt(landmarks.getNode(landmark));
+            }
+            for (int landmark = 0; landmark < count; landmark++) {
+                buffer.asIntBuffer().put(landmarks.getKilometres(landmark));
+                buffer.position(buffer.position() + 4 * numNodes);
+            }
+            for (int landmark = 0; landmark < count; landmark++) {
+                buffer.asIntBuffer().put(landmarks.getTravelTimes(landmark));
+                buffer.position(buffer.position() + 4 * numNodes);
+            }
+            buffer.force();
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return les tables, ou null si le fichier est absent, d'une autre version du format ou calculé pour
+     * une autre carte
+     */
+    public static Landmarks read(Path file, CompactGraph graph) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) < 4L * HEADER_INTS) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            int numNodes = buffer.getInt();
+            int numArcs = buffer.getInt();
+            int count = buffer.getInt();
+            int fingerprint = buffer.getInt();
+            if (numNodes != graph.getNumNodes() || numArcs != graph.getNumArcs()
+                    || fingerprint != fingerprint(graph)) {
+                return null;
+            }
+            int[] nodes = getInts(buffer, count);
+            int[][] kilometres = new int[count][];
+            for (int landmark = 0; landmark < count; landmark++) {
+                kilometres[landmark] = getInts(buffer, numNodes);
+            }
+            int[][] travelTimes = new int[count][];
+            for (int landmark = 0; landmark < count; landmark++) {
+                travelTimes[landmark] = getInts(buffer, numNodes);
+            }
+            return Landmarks.fromArrays(nodes, kilometres, travelTimes);
+        }
+    }
+
+    static int fingerprint(CompactGraph graph) {
+        int hash = graph.getNumNodes();
+        for (int node = 0; node <= graph.getNumNodes(); node++) {
+            hash = 31 * hash + graph.getFirstArc(node);
+        }
+        for (int arc = 0; arc < graph.getNumArcs(); arc++) {
+            hash = 31 * hash + graph.getArcTarget(arc);
+            hash = 31 * hash + graph.getArcWeight(arc);
+            hash = 31 * hash + graph.getArcTravelTime(arc);
+        }
+        return hash;
+    }
+
+    private static int[] getInts(ByteBuffer buffer, int count) {
+        int[] values = new int[count];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + 4 * count);
+        return values;
+    }
+}
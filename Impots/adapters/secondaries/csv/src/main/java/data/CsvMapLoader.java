@@ -0,0 +1,398 @@
+package data;
+
+import com.example.core.domain.GraphMap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Lecture d'une carte CSV ({@code source;destination;km;vitesse;route[;]}) sans passer par des
+ * {@code String} intermédiaires : le fichier est projeté en mémoire par fenêtres, les champs sont
+ * repérés en cherchant l'octet {@code ';'}, les entiers sont lus sur place et les noms de villes
+ * et de routes ne sont décodés qu'une fois grâce à une {@link NameTable}.
+ */
+class CsvMapLoader {
+    private static final byte DELIMITER = ';';
+    private static final byte NEW_LINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final int FIELDS = 5;
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+    private static final long DEFAULT_PARALLEL_THRESHOLD = 8L * 1024 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+    private final long parallelThreshold;
+
+    CsvMapLoader() {
+        this(ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * @param pool              pool utilisé pour lire les morceaux du fichier en parallèle
+     * @param parallelThreshold taille (en octets) à partir de laquelle le fichier est lu en parallèle
+     */
+    CsvMapLoader(ForkJoinPool pool, long parallelThreshold) {
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Reçoit chaque route lue ; les noms sont déjà dédupliqués.
+     */
+    interface EdgeConsumer {
+        void accept(String source, String destination, int weight, int speed, String name);
+    }
+
+    interface WindowConsumer {
+        void accept(ByteBuffer buffer, int from, int to);
+    }
+
+    GraphMap load(Path file) throws IOException {
+        GraphMap map = new GraphMap();
+        if (pool.getParallelism() > 1 && Files.size(file) >= parallelThreshold) {
+            Map<String, String> names = new HashMap<>();
+            forEachWindow(file, (buffer, from, to) -> parseInParallel(buffer, from, to, names, map));
+        } else {
+            NameTable names = new NameTable();
+            forEachWindow(file, (buffer, from, to) -> parse(buffer, from, to, names, map::addEdge));
+        }
+        return map;
+    }
+
+    /**
+     * Lit le fichier compagnon des coordonnées ({@code ville;latitude;longitude[;]}) ; les villes
+     * absentes de la carte sont ignorées.
+     */
+    void loadCoordinates(Path file, GraphMap map) throws IOException {
+        NameTable names = new NameTable();
+        forEachWindow(file, (buffer, from, to) -> {
+            int[] starts = new int[3];
+            int[] ends = new int[3];
+            int position = from;
+            while (position < to) {
+                int field = 0;
+                int fieldStart = position;
+                while (position < to && buffer.get(position) != NEW_LINE) {
+                    if (buffer.get(position) == DELIMITER) {
+                        if (field < 3) {
+                            starts[field] = fieldStart;
+                            ends[field] = position;
+                        }
+                        field++;
+                        fieldStart = position + 1;
+                    }
+                    position++;
+                }
+                int lineEnd = position;
+                if (lineEnd > fieldStart && buffer.get(lineEnd - 1) == CARRIAGE_RETURN) {
+                    lineEnd--;
+                }
+                if (field < 3 && lineEnd > fieldStart) {
+                    starts[field] = fieldStart;
+                    ends[field] = lineEnd;
+                    field++;
+                }
+                position++;
+
+                if (field == 0) {
+                    continue;
+                }
+                if (field < 3) {
+                    throw new IllegalArgumentException("Expected town;latitude;longitude but got " + field + " fields");
+                }
+                String town = names.intern(buffer, starts[0], ends[0]);
+                if (map.getNodes().contains(town)) {
+                    map.setCoordinates(town, parseDouble(buffer, starts[1], ends[1]), parseDouble(buffer, starts[2], ends[2]));
+                }
+            }
+        });
+    }
+
+    private static double parseDouble(ByteBuffer buffer, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(from + i);
+        }
+        return Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII).trim());
+    }
+
+    /**
+     * Découpe la fenêtre en morceaux alignés sur les fins de ligne, lit chaque morceau dans son
+     * propre {@link EdgeBuffer} puis fusionne les morceaux dans l'ordre du fichier : les villes
+     * sont donc numérotées exactement comme avec une lecture séquentielle.
+     */
+    private void parseInParallel(ByteBuffer buffer, int from, int to, Map<String, String> names, GraphMap map) {
+        int chunks = pool.getParallelism() * CHUNKS_PER_THREAD;
+        int chunkSize = Math.max(1, (to - from) / chunks);
+        List<ForkJoinTask<EdgeBuffer>> tasks = new ArrayList<>();
+        int chunkStart = from;
+        while (chunkStart < to) {
+            int chunkEnd = nextLineStart(buffer, Math.min(to, chunkStart + chunkSize), to);
+            int start = chunkStart;
+            tasks.add(pool.submit(() -> {
+                EdgeBuffer edges = new EdgeBuffer();
+                parse(buffer, start, chunkEnd, new NameTable(), edges);
+                return edges;
+            }));
+            chunkStart = chunkEnd;
+        }
+        for (ForkJoinTask<EdgeBuffer> task : tasks) {
+            task.join().drainTo(map, names);
+        }
+    }
+
+    /**
+     * @return l'indice du début de la ligne contenant {@code position}, ou de la suivante
+     */
+    static int nextLineStart(ByteBuffer buffer, int position, int to) {
+        if (position == 0) {
+            return 0;
+        }
+        for (int i = position - 1; i < to; i++) {
+            if (buffer.get(i) == NEW_LINE) {
+                return i + 1;
+            }
+        }
+        return to;
+    }
+
+    /**
+     * Parcourt le fichier par fenêtres projetées en mémoire, chaque fenêtre se terminant sur une fin de ligne.
+     */
+    static void forEachWindow(Path file, WindowConsumer consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(WINDOW_SIZE, size - position);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int end = (int) length;
+                if (position + length < size) {
+                    end = lastLineEnd(buffer, end);
+                    if (end < 0) {
+                        throw new IOException("Line longer than " + WINDOW_SIZE + " bytes at offset " + position);
+                    }
+                }
+                consumer.accept(buffer, 0, end);
+                position += end;
+            }
+        }
+    }
+
+    /**
+     * @return l'indice qui suit le dernier {@code '\n'} avant {@code to}, ou -1 s'il n'y en a pas
+     */
+    static int lastLineEnd(ByteBuffer buffer, int to) {
+        for (int i = to - 1; i >= 0; i--) {
+            if (buffer.get(i) == NEW_LINE) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Lit les lignes complètes de {@code buffer} entre {@code from} (début de ligne) et {@code to}.
+     */
+    static void parse(ByteBuffer buffer, int from, int to, NameTable names, EdgeConsumer consumer) {
+        int[] starts = new int[FIELDS];
+        int[] ends = new int[FIELDS];
+        int position = from;
+        while (position < to) {
+            int field = 0;
+            int fieldStart = position;
+            while (position < to) {
+                byte b = buffer.get(position);
+                if (b == NEW_LINE) {
+                    break;
+                }
+                if (b == DELIMITER) {
+                    if (field < FIELDS) {
+                        starts[field] = fieldStart;
+                        ends[field] = position;
+                    }
+                    field++;
+                    fieldStart = position + 1;
+                }
+                position++;
+            }
+            int lineEnd = position;
+            if (lineEnd > fieldStart && buffer.get(lineEnd - 1) == CARRIAGE_RETURN) {
+                lineEnd--;
+            }
+            if (field < FIELDS && lineEnd > fieldStart) {
+                starts[field] = fieldStart;
+                ends[field] = lineEnd;
+                field++;
+            }
+            position++;
+
+            if (field == 0) {
+                continue;
+            }
+            if (field < FIELDS) {
+                throw new IllegalArgumentException("Expected " + FIELDS + " fields but got " + field);
+            }
+            consumer.accept(
+                    names.intern(buffer, starts[0], ends[0]),
+                    names.intern(buffer, starts[1], ends[1]),
+                    parseInt(buffer, starts[2], ends[2]),
+                    parseInt(buffer, starts[3], ends[3]),
+                    names.intern(buffer, starts[4], ends[4]));
+        }
+    }
+
+    static int parseInt(ByteBuffer buffer, int from, int to) {
+        if (from >= to) {
+            throw new NumberFormatException("Empty number");
+        }
+        boolean negative = buffer.get(from) == '-';
+        int value = 0;
+        for (int i = negative ? from + 1 : from; i < to; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Invalid number at byte " + i);
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Routes lues par un morceau du fichier, en attente de fusion dans la carte.
+     */
+    static final class EdgeBuffer implements EdgeConsumer {
+        private String[] sources = new String[1024];
+        private String[] destinations = new String[1024];
+        private int[] weights = new int[1024];
+        private int[] speeds = new int[1024];
+        private String[] names = new String[1024];
+        private int size;
+
+        @Override
+        public void accept(String source, String destination, int weight, int speed, String name) {
+            if (size == sources.length) {
+                int capacity = size * 2;
+                sources = Arrays.copyOf(sources, capacity);
+                destinations = Arrays.copyOf(destinations, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+                speeds = Arrays.copyOf(speeds, capacity);
+                names = Arrays.copyOf(names, capacity);
+            }
+            sources[size] = source;
+            destinations[size] = destination;
+            weights[size] = weight;
+            speeds[size] = speed;
+            names[size] = name;
+            size++;
+        }
+
+        /**
+         * Ajoute les routes à la carte en partageant une seule instance de chaque nom entre les morceaux.
+         */
+        void drainTo(GraphMap map, Map<String, String> canonicalNames) {
+            for (int i = 0; i < size; i++) {
+                map.addEdge(
+                        canonicalNames.computeIfAbsent(sources[i], name -> name),
+                        canonicalNames.computeIfAbsent(destinations[i], name -> name),
+                        weights[i],
+                        speeds[i],
+                        canonicalNames.computeIfAbsent(names[i], name -> name));
+            }
+        }
+    }
+
+    /**
+     * Table d'interning indexée par les octets UTF-8 : un nom déjà rencontré est retrouvé sans
+     * être décodé ni alloué de nouveau.
+     */
+    static final class NameTable {
+        private byte[][] keys = new byte[1024][];
+        private String[] values = new String[1024];
+        private int size;
+
+        String intern(ByteBuffer buffer, int from, int to) {
+            int hash = hash(buffer, from, to);
+            int mask = keys.length - 1;
+            for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+                byte[] key = keys[slot];
+                if (key == null) {
+                    byte[] bytes = new byte[to - from];
+                    for (int i = 0; i < bytes.length; i++) {
+                        bytes[i] = buffer.get(from + i);
+                    }
+                    String value = new String(bytes, StandardCharsets.UTF_8);
+                    insert(bytes, value);
+                    return value;
+                }
+                if (matches(key, buffer, from, to)) {
+                    return values[slot];
+                }
+            }
+        }
+
+        private void insert(byte[] key, String value) {
+            if (++size * 2 > keys.length) {
+                resize();
+            }
+            int mask = keys.length - 1;
+            int slot = hash(ByteBuffer.wrap(key), 0, key.length) & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        private void resize() {
+            byte[][] oldKeys = keys;
+            String[] oldValues = values;
+            keys = new byte[oldKeys.length * 2][];
+            values = new String[oldValues.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    int slot = hash(ByteBuffer.wrap(oldKeys[i]), 0, oldKeys[i].length) & mask;
+                    while (keys[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private static boolean matches(byte[] key, ByteBuffer buffer, int from, int to) {
+            if (key.length != to - from) {
+                return false;
+            }
+            for (int i = 0; i < key.length; i++) {
+                if (key[i] != buffer.get(from + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int hash(ByteBuffer buffer, int from, int to) {
+            int hash = 0x811c9dc5;
+            for (int i = from; i < to; i++) {
+                hash = (hash ^ buffer.get(i)) * 0x01000193;
+            }
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
@@ -1,39 +1,70 @@
 package data;
 
-import com.example.core.domain.Edge;
 import com.example.core.domain.GraphMap;
 import com.example.core.exceptions.MapNotFoundException;
 import com.example.core.port.IportMapsRepository;
+import com.example.core.port.IportMetrics;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 public class ParserCSV implements IportMapsRepository {
-    private static final String DELIMITER = ";";
+    private static final String COORDINATES_SUFFIX = ".nodes.csv";
 
+    private final CsvMapLoader loader = new CsvMapLoader();
+    private final IportMetrics metrics;
 
-    @Override
-    public GraphMap getGraphMap(int graphNr) throws MapNotFoundException {
-        String filePath;
-        filePath = (graphNr == 1 ? "/Users/kallelskander/Desktop/shortest path/architectureHexProject/tdd/bigMap.csv" :
-                "/Users/kallelskander/Desktop/shortest path/architectureHexProject/tdd/smallMap.csv"
-        );
-
-
-        GraphMap map = new GraphMap();
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] data = line.split(DELIMITER);
+    public ParserCSV() {
+        this(IportMetrics.NONE);
+    }
 
-                map.addEdge(data[0], data[1], Integer.parseInt(data[2]), Integer.parseInt(data[3]), data[4]);
-            }
+    /**
+     * @param metrics reçoit la durée et la taille de chaque chargement
+     */
+    public ParserCSV(IportMetrics metrics) {
+        this.metrics = metrics;
+    }
 
+    @Override
+    public GraphMap getGraphMap(int graphNr) throws MapNotFoundException {
+        try {
+            return load(getFilePath(graphNr));
         } catch (Exception e) {
             throw new MapNotFoundException("Map not found!", e);
         }
+
+    }
+
+    /**
+     * Charge la carte et, s'il existe, son fichier compagnon de coordonnées (voir {@link #coordinatesPathOf}).
+     */
+    public GraphMap load(Path file) throws IOException {
+        long begin = System.nanoTime();
+        long bytes = Files.size(file);
+        GraphMap map = loader.load(file);
+        Path coordinates = coordinatesPathOf(file);
+        if (Files.isRegularFile(coordinates)) {
+            bytes += Files.size(coordinates);
+            loader.loadCoordinates(coordinates, map);
+        }
+        metrics.mapLoaded(file.toString(), System.nanoTime() - begin, bytes);
         return map;
+    }
 
+    /**
+     * @return {@code carte.nodes.csv} pour {@code carte.csv}
+     */
+    public static Path coordinatesPathOf(Path file) {
+        String name = file.getFileName().toString();
+        int extension = name.lastIndexOf('.');
+        return file.resolveSibling((extension < 0 ? name : name.substring(0, extension)) + COORDINATES_SUFFIX);
+    }
+
+    public static Path getFilePath(int graphNr) {
+        return Paths.get(graphNr == 1 ? "/Users/kallelskander/Desktop/shortest path/architectureHexProject/tdd/bigMap.csv" :
+                "/Users/kallelskander/Desktop/shortest path/architectureHexProject/tdd/smallMap.csv"
+        );
     }
 }
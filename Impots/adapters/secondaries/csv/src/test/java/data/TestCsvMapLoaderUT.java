@@ -0,0 +1,122 @@
+package data;
+
+import com.example.core.domain.CompactGraph;
+import com.example.core.domain.Edge;
+import com.example.core.domain.GraphMap;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class TestCsvMapLoaderUT {
+
+    private static GraphMap load(String content) throws Exception {
+        Path csv = Files.createTempFile("map", ".csv");
+        Files.write(csv, content.getBytes(StandardCharsets.UTF_8));
+        return new CsvMapLoader().load(csv);
+    }
+
+    private static Edge edge(GraphMap map, String source, String destination) {
+        return map.getNeighbors(source).stream()
+                .filter(edge -> edge.getDestination().equals(destination))
+                .findFirst().orElseThrow();
+    }
+
+    @Test
+    public void should_read_lines_with_or_without_trailing_delimiter() throws Exception {
+        GraphMap map = load("Béziers;Montpellier;83;70;RN113;\n"
+                + "Montpellier;Avignon;80;80;RN84");
+
+        Assertions.assertThat(map.getNodes()).containsExactly("Béziers", "Montpellier", "Avignon");
+        Edge rn113 = edge(map, "Béziers", "Montpellier");
+        Assertions.assertThat(rn113.getWeight()).isEqualTo(83);
+        Assertions.assertThat(rn113.getSpeed()).isEqualTo(70);
+        Assertions.assertThat(rn113.getName()).isEqualTo("RN113");
+        Assertions.assertThat(edge(map, "Avignon", "Montpellier").getName()).isEqualTo("RN84");
+    }
+
+    @Test
+    public void should_accept_crlf_and_skip_blank_lines() throws Exception {
+        GraphMap map = load("\r\n"
+                + "Béziers;Montpellier;83;70;RN113;\r\n"
+                + "\n"
+                + "Montpellier;Avignon;80;80;RN84\r\n"
+                + "\r\n");
+
+        Assertions.assertThat(map.getNumNodes()).isEqualTo(3);
+        Assertions.assertThat(map.getNumEdges()).isEqualTo(2);
+        Assertions.assertThat(edge(map, "Montpellier", "Avignon").getName()).isEqualTo("RN84");
+        Assertions.assertThat(edge(map, "Montpellier", "Avignon").getSpeed()).isEqualTo(80);
+    }
+
+    @Test
+    public void should_decode_utf8_names_once() throws Exception {
+        GraphMap map = load("Béziers;Sète;52;90;D612;\n"
+                + "Sète;Béziers;52;90;D612;\n"
+                + "Pézenas;Béziers;24;90;D13;\n");
+
+        Assertions.assertThat(map.getNodes()).containsExactly("Béziers", "Sète", "Pézenas");
+        List<Edge> fromBeziers = map.getNeighbors("Béziers");
+        Assertions.assertThat(fromBeziers).extracting(Edge::getDestination).contains("Sète", "Pézenas");
+        Assertions.assertThat(edge(map, "Béziers", "Sète").getName())
+                .isSameAs(edge(map, "Sète", "Béziers").getName());
+    }
+
+    @Test
+    public void should_reject_lines_with_missing_fields() {
+        Assertions.assertThatThrownBy(() -> load("Béziers;Montpellier;83;70;RN113;\n"
+                        + "Montpellier;Avignon;80\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("got 3");
+    }
+
+    @Test
+    public void should_reject_invalid_numbers() {
+        Assertions.assertThatThrownBy(() -> load("Béziers;Montpellier;8x3;70;RN113;\n"))
+                .isInstanceOf(NumberFormatException.class);
+        Assertions.assertThatThrownBy(() -> load("Béziers;Montpellier;;70;RN113;\n"))
+                .isInstanceOf(NumberFormatException.class)
+                .hasMessage("Empty number");
+    }
+
+    /**
+     * La lecture parallèle doit numéroter les villes et ranger les routes exactement comme la lecture séquentielle.
+     */
+    @Test
+    public void should_load_the_same_map_in_parallel_and_sequentially() throws Exception {
+        Random random = new Random(7);
+        StringBuilder content = new StringBuilder();
+        for (int line = 0; line < 20_000; line++) {
+            content.append("Ville").append(random.nextInt(5000)).append(';')
+                    .append("Ville").append(random.nextInt(5000)).append(';')
+                    .append(1 + random.nextInt(200)).append(';')
+                    .append(30 + random.nextInt(101)).append(';')
+                    .append(random.nextBoolean() ? "A" : "RN").append(random.nextInt(100))
+                    .append(line % 3 == 0 ? ";\r\n" : "\n");
+        }
+        Path csv = Files.createTempFile("map", ".csv");
+        Files.writeString(csv, content);
+
+        CompactGraph parallel = new CsvMapLoader(new ForkJoinPool(4), 1).load(csv).freeze();
+        CompactGraph sequential = new CsvMapLoader(new ForkJoinPool(1), 1).load(csv).freeze();
+
+        Assertions.assertThat(parallel.getNumNodes()).isEqualTo(sequential.getNumNodes());
+        Assertions.assertThat(parallel.getNumArcs()).isEqualTo(sequential.getNumArcs()).isEqualTo(40_000);
+        for (int node = 0; node < sequential.getNumNodes(); node++) {
+            Assertions.assertThat(parallel.getNodeName(node)).isEqualTo(sequential.getNodeName(node));
+            Assertions.assertThat(parallel.getFirstArc(node)).isEqualTo(sequential.getFirstArc(node));
+        }
+        for (int arc = 0; arc < sequential.getNumArcs(); arc++) {
+            Assertions.assertThat(parallel.getArcTarget(arc)).isEqualTo(sequential.getArcTarget(arc));
+            Assertions.assertThat(parallel.getArcWeight(arc)).isEqualTo(sequential.getArcWeight(arc));
+            Assertions.assertThat(parallel.getArcSpeed(arc)).isEqualTo(sequential.getArcSpeed(arc));
+            Assertions.assertThat(parallel.getRoadName(parallel.getArcRoad(arc)))
+                    .isEqualTo(sequential.getRoadName(sequential.getArcRoad(arc)));
+        }
+    }
+}
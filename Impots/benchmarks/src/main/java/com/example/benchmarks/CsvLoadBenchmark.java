@@ -0,0 +1,70 @@
+package com.example.benchmarks;
+
+import com.example.core.domain.CompactGraph;
+import com.example.core.domain.GraphMap;
+import data.ParserCSV;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Temps de chargement d'une carte CSV par {@link ParserCSV} (lecture seule, puis lecture et passage au
+ * format compact utilisé par les recherches). Chaque mesure est un chargement complet.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class CsvLoadBenchmark {
+
+    @Param({"GRID", "GEOMETRIC"})
+    public SyntheticMaps.Kind kind;
+
+    @Param({"1000", "100000", "1000000"})
+    public int nodes;
+
+    private Path directory;
+    private Path file;
+    private final ParserCSV parser = new ParserCSV();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("benchmark-map");
+        file = directory.resolve("map.csv");
+        SyntheticMaps.writeCsv(SyntheticMaps.generate(kind, nodes, 42), file, ParserCSV.coordinatesPathOf(file));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(ParserCSV.coordinatesPathOf(file));
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public GraphMap load() throws IOException {
+        return parser.load(file);
+    }
+
+    @Benchmark
+    public CompactGraph loadAndFreeze() throws IOException {
+        return parser.load(file).freeze();
+    }
+}
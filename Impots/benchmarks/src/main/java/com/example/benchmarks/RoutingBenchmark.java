@@ -0,0 +1,110 @@
+package com.example.benchmarks;
+
+import com.example.core.domain.Algorithm;
+import com.example.core.domain.GraphMap;
+import com.example.core.domain.Metric;
+import com.example.core.domain.RouteOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latence et débit des requêtes d'itinéraire (plus court et plus rapide) sur des cartes synthétiques.
+ * <p>
+ * {@code java -jar benchmarks/target/benchmarks.jar RoutingBenchmark -prof gc} ajoute le taux d'allocation ;
+ * {@code -p algorithm=CONTRACTION_HIERARCHY} mesure les hiérarchies de contraction (prétraitement hors mesure, comme pour les repères de {@code LANDMARKS}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class RoutingBenchmark {
+    private static final int QUERIES = 1024;
+
+    @Param({"GRID", "GEOMETRIC"})
+    public SyntheticMaps.Kind kind;
+
+    @Param({"1000", "100000", "1000000"})
+    public int nodes;
+
+    @Param({"DIJKSTRA", "BIDIRECTIONAL", "ASTAR", "LANDMARKS"})
+    public Algorithm algorithm;
+
+    private GraphMap map;
+    private String[] starts;
+    private String[] ends;
+    private RouteOptions shortest;
+    private RouteOptions fastest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        map = GraphMap.of(SyntheticMaps.generate(kind, nodes, 42));
+        int numNodes = map.getNumNodes();
+        Random random = new Random(7);
+        starts = new String[QUERIES];
+        ends = new String[QUERIES];
+        for (int query = 0; query < QUERIES; query++) {
+            starts[query] = "Ville" + random.nextInt(numNodes);
+            ends[query] = "Ville" + random.nextInt(numNodes);
+        }
+        shortest = new RouteOptions(false, Metric.DISTANCE, algorithm);
+        fastest = new RouteOptions(false, Metric.TIME, algorithm);
+        if (algorithm == Algorithm.CONTRACTION_HIERARCHY) {
+            map.prepareContractionHierarchies();
+        } else if (algorithm == Algorithm.LANDMARKS) {
+            map.prepareLandmarks();
+        }
+    }
+
+    /**
+     * Requête suivante, propre à chaque thread de mesure.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        int next() {
+            return next++ & (QUERIES - 1);
+        }
+    }
+
+    @Benchmark
+    public List<String> shortestTrajectory(Cursor cursor) {
+        int query = cursor.next();
+        return map.findRoute(starts[query], ends[query], shortest);
+    }
+
+    @Benchmark
+    public List<String> fastestPath(Cursor cursor) {
+        int query = cursor.next();
+        return map.findRoute(starts[query], ends[query], fastest);
+    }
+
+    /**
+     * Débit de la même carte partagée entre plusieurs threads.
+     */
+    @Benchmark
+    @Threads(4)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public List<String> fastestPathConcurrent(Cursor cursor) {
+        int query = cursor.next();
+        return map.findRoute(starts[query], ends[query], fastest);
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.benchmarks;
+
+import com.example.core.domain.CompactGraph;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Réseaux routiers synthétiques reproductibles (même graine, même carte), construits directement au
+ * format CSR pour que les cartes d'un million de villes tiennent en mémoire.
+ * <ul>
+ *     <li>{@code GRID} : quadrillage de villes espacées de 5 km ;</li>
+ *     <li>{@code GEOMETRIC} : villes tirées au hasard, reliées à leurs voisines à moins de 4 km environ.</li>
+ * </ul>
+ * Une route sur dix est une autoroute (nom « A… », 110 à 130 km/h), les autres sont des nationales.
+ * Les villes ont des coordonnées, pour {@link com.example.core.domain.Algorithm#ASTAR}.
+ */
+public final class SyntheticMaps {
+    public enum Kind { GRID, GEOMETRIC }
+
+    private static final double KM_PER_DEGREE = 6371.0088 * Math.PI / 180;
+    private static final double GRID_SPACING_KM = 5;
+    private static final double GEOMETRIC_DENSITY_KM2 = 9;
+    private static final double GEOMETRIC_RADIUS_KM = 3.8;
+
+    private final Random random;
+    private double[] x;
+    private double[] y;
+    private int[] from = new int[16];
+    private int[] to = new int[16];
+    private int[] weights = new int[16];
+    private int[] speeds = new int[16];
+    private int numRoads;
+
+    private SyntheticMaps(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public static CompactGraph generate(Kind kind, int numNodes, long seed) {
+        SyntheticMaps maps = new SyntheticMaps(seed);
+        if (kind == Kind.GRID) {
+            maps.grid(numNodes);
+        } else {
+            maps.geometric(numNodes);
+        }
+        return maps.toGraph();
+    }
+
+    /**
+     * Écrit la carte au format lu par {@code ParserCSV}, avec son fichier compagnon de coordonnées.
+     */
+    public static void writeCsv(CompactGraph graph, Path file, Path coordinates) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int node = 0; node < graph.getNumNodes(); node++) {
+                for (int arc = graph.getFirstArc(node); arc < graph.getFirstArc(node + 1); arc++) {
+                    int target = graph.getArcTarget(arc);
+                    if (target > node) {
+                        writer.write(graph.getNodeName(node) + ";" + graph.getNodeName(target) + ";"
+                                + graph.getArcWeight(arc) + ";" + (int) graph.getArcSpeed(arc) + ";"
+                                + graph.getRoadName(graph.getArcRoad(arc)) + ";\n");
+                    }
+                }
+            }
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(coordinates, StandardCharsets.UTF_8)) {
+            for (int node = 0; node < graph.getNumNodes(); node++) {
+                writer.write(graph.getNodeName(node) + ";" + graph.getLatitude(node) + ";" + graph.getLongitude(node) + "\n");
+            }
+        }
+    }
+
+    private void grid(int numNodes) {
+        int side = (int) Math.ceil(Math.sqrt(numNodes));
+        x = new double[side * side];
+        y = new double[side * side];
+        for (int row = 0; row < side; row++) {
+            for (int column = 0; column < side; column++) {
+                int node = row * side + column;
+                x[node] = column * GRID_SPACING_KM;
+                y[node] = row * GRID_SPACING_KM;
+                if (column + 1 < side) {
+                    addRoad(node, node + 1);
+                }
+                if (row + 1 < side) {
+                    addRoad(node, node + side);
+                }
+            }
+        }
+    }
+
+    private void geometric(int numNodes) {
+        double extent = Math.sqrt(numNodes * GEOMETRIC_DENSITY_KM2);
+        x = new double[numNodes];
+        y = new double[numNodes];
+        for (int node = 0; node < numNodes; node++) {
+            x[node] = random.nextDouble() * extent;
+            y[node] = random.nextDouble() * extent;
+        }
+
+        // cases de la taille du rayon : les voisines d'une ville sont dans sa case ou les cases adjacentes
+        int cells = Math.max(1, (int) (extent / GEOMETRIC_RADIUS_KM));
+        int[] cellStart = new int[cells * cells + 1];
+        int[] cellOf = new int[numNodes];
+        for (int node = 0; node < numNodes; node++) {
+            cellOf[node] = cell(x[node], cells, extent) * cells + cell(y[node], cells, extent);
+            cellStart[cellOf[node] + 1]++;
+        }
+        for (int cell = 0; cell < cells * cells; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        int[] byCell = new int[numNodes];
+        int[] next = Arrays.copyOf(cellStart, cells * cells);
+        for (int node = 0; node < numNodes; node++) {
+            byCell[next[cellOf[node]]++] = node;
+        }
+
+        for (int node = 0; node < numNodes; node++) {
+            int cellX = cellOf[node] / cells;
+            int cellY = cellOf[node] % cells;
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    int cx = cellX + dx;
+                    int cy = cellY + dy;
+                    if (cx < 0 || cy < 0 || cx >= cells || cy >= cells) {
+                        continue;
+                    }
+                    int cell = cx * cells + cy;
+                    for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                        int other = byCell[i];
+                        if (other > node && Math.hypot(x[node] - x[other], y[node] - y[other]) <= GEOMETRIC_RADIUS_KM) {
+                            addRoad(node, other);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static int cell(double coordinate, int cells, double extent) {
+        return Math.min(cells - 1, (int) (coordinate / extent * cells));
+    }
+
+    private void addRoad(int a, int b) {
+        if (numRoads == from.length) {
+            int capacity = numRoads * 2;
+            from = Arrays.copyOf(from, capacity);
+            to = Arrays.copyOf(to, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            speeds = Arrays.copyOf(speeds, capacity);
+        }
+        boolean autoroute = random.nextInt(10) == 0;
+        // la longueur d'une route n'est jamais inférieure à la distance à vol d'oiseau
+        double straight = Math.hypot(x[a] - x[b], y[a] - y[b]);
+        from[numRoads] = a;
+        to[numRoads] = b;
+        weights[numRoads] = Math.max(1, (int) Math.ceil(straight * (1 + random.nextDouble() * 0.3)));
+        speeds[numRoads] = autoroute ? 110 + random.nextInt(21) : 50 + random.nextInt(41);
+        numRoads++;
+    }
+
+    private CompactGraph toGraph() {
+        int numNodes = x.length;
+        int[] offsets = new int[numNodes + 1];
+        for (int road = 0; road < numRoads; road++) {
+            offsets[from[road] + 1]++;
+            offsets[to[road] + 1]++;
+        }
+        for (int node = 0; node < numNodes; node++) {
+            offsets[node + 1] += offsets[node];
+        }
+        int numArcs = 2 * numRoads;
+        int[] targets = new int[numArcs];
+        int[] arcWeights = new int[numArcs];
+        float[] arcSpeeds = new float[numArcs];
+        int[] arcRoads = new int[numArcs];
+        int[] next = Arrays.copyOf(offsets, numNodes);
+        for (int road = 0; road < numRoads; road++) {
+            for (int side = 0; side < 2; side++) {
+                int source = side == 0 ? from[road] : to[road];
+                int arc = next[source]++;
+                targets[arc] = side == 0 ? to[road] : from[road];
+                arcWeights[arc] = weights[road];
+                arcSpeeds[arc] = speeds[road];
+                arcRoads[arc] = road;
+            }
+        }
+
+        String[] nodeNames = new String[numNodes];
+        double[] latitudes = new double[numNodes];
+        double[] longitudes = new double[numNodes];
+        for (int node = 0; node < numNodes; node++) {
+            nodeNames[node] = "Ville" + node;
+            latitudes[node] = y[node] / KM_PER_DEGREE;
+            longitudes[node] = x[node] / KM_PER_DEGREE;
+        }
+        String[] roadNames = new String[numRoads];
+        boolean[] autoroutes = new boolean[numRoads];
+        for (int road = 0; road < numRoads; road++) {
+            autoroutes[road] = speeds[road] >= 110;
+            roadNames[road] = (autoroutes[road] ? "A" : "RN") + road;
+        }
+        return CompactGraph.fromArrays(nodeNames, offsets, targets, arcWeights, arcSpeeds, arcRoads, roadNames,
+                autoroutes).withCoordinates(latitudes, longitudes);
+    }
+}
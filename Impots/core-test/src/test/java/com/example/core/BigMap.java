@@ -0,0 +1,35 @@
+package com.example.core;
+
+import com.example.core.domain.GraphMap;
+
+/**
+ * Carte de référence des tests : Béziers, Montpellier, Avignon et Arles, reliées par des nationales et par
+ * l'autoroute A9, la seule de la carte.
+ * <ul>
+ *     <li>plus court : Béziers, RN113, Montpellier, RN84, Avignon (163 km) ;</li>
+ *     <li>plus rapide : Béziers, A9, Avignon, ou par RN50 et Arles sans autoroute.</li>
+ * </ul>
+ */
+final class BigMap {
+    static final String CSV = "Béziers;Montpellier;83;70;RN113;\n"
+            + "Montpellier;Avignon;80;80;RN84;\n"
+            + "Avignon;Arles;36;100;RN96;\n"
+            + "Arles;Béziers;145;110;RN50;\n"
+            + "Béziers;Avignon;150;130;A9;\n";
+
+    private BigMap() {
+    }
+
+    /**
+     * @return une nouvelle carte, que le test peut compléter ou modifier
+     */
+    static GraphMap build() {
+        GraphMap graph = new GraphMap();
+        graph.addEdge("Béziers", "Montpellier", 83, 70, "RN113");
+        graph.addEdge("Montpellier", "Avignon", 80, 80, "RN84");
+        graph.addEdge("Avignon", "Arles", 36, 100, "RN96");
+        graph.addEdge("Arles", "Béziers", 145, 110, "RN50");
+        graph.addEdge("Béziers", "Avignon", 150, 130, "A9");
+        return graph;
+    }
+}
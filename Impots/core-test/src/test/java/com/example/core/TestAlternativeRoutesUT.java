@@ -0,0 +1,79 @@
+package com.example.core;
+
+import com.example.core.domain.GraphMap;
+import com.example.core.domain.Metric;
+import com.example.core.domain.Route;
+import com.example.core.domain.RouteOptions;
+import com.example.core.exceptions.MapNotFoundException;
+import com.example.core.usecase.CalculTrajectoire;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class TestAlternativeRoutesUT {
+
+    @Test
+    public void should_return_the_best_route_then_reasonable_detours() throws MapNotFoundException {
+        GraphMap graph = BigMap.build();
+        CalculTrajectoire calcul = new CalculTrajectoire(graphNr -> graph);
+
+        List<Route> routes = calcul.executeAlternatives(1, "Béziers", "Avignon", new RouteOptions(false, Metric.TIME), 3);
+
+        // par Montpellier (131.1 minutes) : plus de 50 % au-dessus des 69.2 minutes de l'A9
+        Assertions.assertThat(routes).hasSize(2);
+        Assertions.assertThat(routes.get(0).getPath()).containsExactly("Béziers", "A9", "Avignon");
+        Assertions.assertThat(routes.get(0).getKilometres()).isEqualTo(150);
+        Assertions.assertThat(routes.get(0).getMinutes()).isEqualTo(69.2);
+        Assertions.assertThat(routes.get(1).getPath()).containsExactly("Béziers", "RN50", "Arles", "RN96", "Avignon");
+        Assertions.assertThat(routes.get(1).getKilometres()).isEqualTo(181);
+        Assertions.assertThat(routes.get(1).getMinutes()).isEqualTo(100.7);
+    }
+
+    @Test
+    public void should_follow_the_route_options() {
+        List<Route> routes = BigMap.build().findAlternatives("Béziers", "Avignon", new RouteOptions(true, Metric.DISTANCE), 3);
+
+        Assertions.assertThat(routes).extracting(Route::getKilometres).containsExactly(163, 181);
+        Assertions.assertThat(BigMap.build().findAlternatives("Béziers", "Paris", new RouteOptions(true, Metric.DISTANCE), 3))
+                .isEmpty();
+    }
+
+    @Test
+    public void should_return_distinct_loopless_routes_on_a_grid() {
+        GraphMap graph = new GraphMap();
+        Random random = new Random(7);
+        int size = 20;
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                String town = "Ville" + (row * size + column);
+                if (column + 1 < size) {
+                    graph.addEdge(town, "Ville" + (row * size + column + 1), 5 + random.nextInt(20), 90, "R" + row + "_" + column);
+                }
+                if (row + 1 < size) {
+                    graph.addEdge(town, "Ville" + ((row + 1) * size + column), 5 + random.nextInt(20), 90, "C" + row + "_" + column);
+                }
+            }
+        }
+        RouteOptions options = new RouteOptions(false, Metric.DISTANCE);
+        String start = "Ville0";
+        String end = "Ville" + (size * size - 1);
+        int best = graph.computeMatrix(List.of(start), List.of(end), options, false).getKilometres(0, 0);
+
+        List<Route> routes = graph.findAlternatives(start, end, options, 3);
+
+        Assertions.assertThat(routes).hasSize(3);
+        Assertions.assertThat(routes.get(0).getKilometres()).isEqualTo(best);
+        Assertions.assertThat(new HashSet<>(routes.stream().map(Route::getPath).toList())).hasSize(3);
+        for (Route route : routes) {
+            Assertions.assertThat(route.getKilometres()).isLessThanOrEqualTo(best * 3 / 2);
+            Set<String> towns = new HashSet<>();
+            for (int i = 0; i < route.getPath().size(); i += 2) {
+                Assertions.assertThat(towns.add(route.getPath().get(i))).isTrue();
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.core;
+
+import com.example.core.domain.Algorithm;
+import com.example.core.domain.GraphMap;
+import com.example.core.domain.Metric;
+import com.example.core.domain.RouteOptions;
+import data.BinaryMapConverter;
+import data.BinaryMapsRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+public class TestBinaryMapFormatUT {
+
+    /**
+     * Une carte compilée en binaire puis relue doit donner exactement les mêmes itinéraires que le CSV.
+     */
+    @Test
+    public void should_answer_the_same_routes_after_a_binary_round_trip() throws Exception {
+        Path directory = Files.createTempDirectory("maps");
+        Path csv = directory.resolve("bigMap.csv");
+        Files.writeString(csv, BigMap.CSV);
+        Files.writeString(directory.resolve("bigMap.nodes.csv"), "Béziers;43.3442;3.2158\n"
+                + "Montpellier;43.6119;3.8772\n"
+                + "Avignon;43.9493;4.8055\n"
+                + "Arles;43.6766;4.6278\n");
+
+        Path binary = BinaryMapConverter.convertIfStale(csv);
+        GraphMap graph = new BinaryMapsRepository(graphNr -> binary).getGraphMap(1);
+
+        Assertions.assertThat(graph.getNumNodes()).isEqualTo(4);
+        Assertions.assertThat(graph.getNumEdges()).isEqualTo(5);
+        Assertions.assertThat(graph.findRoute("Béziers", "Avignon", RouteOptions.of(true, true)))
+                .containsExactly("Béziers", "RN50", "Arles", "RN96", "Avignon");
+        Assertions.assertThat(graph.findRoute("Béziers", "Avignon", RouteOptions.of(false, true)))
+                .containsExactly("Béziers", "A9", "Avignon");
+        Assertions.assertThat(graph.findRoute("Béziers", "Avignon", RouteOptions.of(true, false)))
+                .containsExactly("Béziers", "RN113", "Montpellier", "RN84", "Avignon");
+        Assertions.assertThat(graph.findRoute("Béziers", "Avignon", new RouteOptions(true, Metric.TIME, Algorithm.ASTAR)))
+                .containsExactly("Béziers", "RN50", "Arles", "RN96", "Avignon");
+        Assertions.assertThat(graph.getCoordinates("Arles")).containsExactly(43.6766, 4.6278);
+        Assertions.assertThat(graph.getNeighbors("Arles")).hasSize(2);
+    }
+
+    @Test
+    public void should_load_a_binary_map_once_until_its_file_changes() throws Exception {
+        Path directory = Files.createTempDirectory("maps");
+        Path csv = directory.resolve("bigMap.csv");
+        Files.writeString(csv, "Béziers;Montpellier;83;70;RN113;\n");
+        Files.setLastModifiedTime(csv, FileTime.from(Instant.now().minusSeconds(60)));
+        Path binary = BinaryMapConverter.convertIfStale(csv);
+        BinaryMapsRepository repository = new BinaryMapsRepository(graphNr -> binary);
+
+        GraphMap first = repository.getGraphMap(1);
+        Assertions.assertThat(repository.getGraphMap(1)).isSameAs(first);
+
+        Files.writeString(csv, "Béziers;Montpellier;83;70;RN113;\n"
+                + "Montpellier;Avignon;80;80;RN84;\n");
+        BinaryMapConverter.convertIfStale(csv);
+        GraphMap reloaded = repository.getGraphMap(1);
+
+        Assertions.assertThat(reloaded).isNotSameAs(first);
+        Assertions.assertThat(reloaded.getNumNodes()).isEqualTo(3);
+    }
+
+    @Test
+    public void should_store_landmark_tables_next_to_the_binary_map() throws Exception {
+        Path directory = Files.createTempDirectory("maps");
+        Path csv = directory.resolve("bigMap.csv");
+        Files.writeString(csv, BigMap.CSV);
+
+        Path binary = BinaryMapConverter.convertIfStale(csv);
+        Path landmarks = BinaryMapConverter.landmarksPathOf(binary);
+        Assertions.assertThat(landmarks).exists();
+
+        GraphMap graph = new BinaryMapsRepository(graphNr -> binary).getGraphMap(1);
+        Assertions.assertThat(graph.freeze().hasLandmarks()).isTrue();
+        Assertions.assertThat(graph.findRoute("Béziers", "Avignon", new RouteOptions(true, Metric.TIME, Algorithm.LANDMARKS)))
+                .containsExactly("Béziers", "RN50", "Arles", "RN96", "Avignon");
+        Assertions.assertThat(graph.findRoute("Béziers", "Avignon", new RouteOptions(true, Metric.DISTANCE, Algorithm.LANDMARKS)))
+                .containsExactly("Béziers", "RN113", "Montpellier", "RN84", "Avignon");
+
+        // tables d'une ancienne version de la carte : ignorées puis recalculées à la demande
+        Path other = directory.resolve("other.csv");
+        Files.writeString(other, BigMap.CSV.replace("150;130;A9", "150;80;A9"));
+        Path otherBinary = BinaryMapConverter.convertIfStale(other);
+        Files.copy(landmarks, BinaryMapConverter.landmarksPathOf(otherBinary), StandardCopyOption.REPLACE_EXISTING);
+
+        GraphMap otherGraph = new BinaryMapsRepository(graphNr -> otherBinary).getGraphMap(1);
+        Assertions.assertThat(otherGraph.freeze().hasLandmarks()).isFalse();
+        Assertions.assertThat(otherGraph.findRoute("Béziers", "Avignon", new RouteOptions(false, Metric.TIME, Algorithm.LANDMARKS)))
+                .containsExactly("Béziers", "RN50", "Arles", "RN96", "Avignon");
+    }
+}
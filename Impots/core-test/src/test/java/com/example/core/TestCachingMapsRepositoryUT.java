@@ -0,0 +1,101 @@
+package com.example.core;
+
+import com.example.core.domain.GraphMap;
+import com.example.core.port.IportMapsRepository;
+import data.CachingMapsRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestCachingMapsRepositoryUT {
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final IportMapsRepository countingRepository = graphNr -> {
+        loads.incrementAndGet();
+        GraphMap graph = new GraphMap();
+        graph.addEdge("Béziers", "Montpellier", 83, 70, "RN113");
+        graph.addEdge("Montpellier", "Avignon", 80, 80, "RN84");
+        return graph;
+    };
+
+    @Test
+    public void should_parse_a_map_only_once() throws Exception {
+        CachingMapsRepository repository = new CachingMapsRepository(countingRepository, graphNr -> null, 2, 100);
+
+        GraphMap first = repository.getGraphMap(1);
+        GraphMap second = repository.getGraphMap(1);
+
+        Assertions.assertThat(second).isSameAs(first);
+        Assertions.assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_evict_the_least_recently_used_map() throws Exception {
+        CachingMapsRepository repository = new CachingMapsRepository(countingRepository, graphNr -> null, 2, 100);
+
+        repository.getGraphMap(1);
+        repository.getGraphMap(2);
+        repository.getGraphMap(1);
+        repository.getGraphMap(3);
+        repository.getGraphMap(1);
+        repository.getGraphMap(2);
+
+        Assertions.assertThat(loads.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void should_load_once_for_concurrent_misses() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IportMapsRepository slowRepository = graphNr -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return countingRepository.getGraphMap(graphNr);
+        };
+        CachingMapsRepository repository = new CachingMapsRepository(slowRepository, graphNr -> null, 2, 100);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<GraphMap>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> repository.getGraphMap(1)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<GraphMap> result : results) {
+                Assertions.assertThat(result.get()).isSameAs(results.get(0).get());
+            }
+            Assertions.assertThat(loads.get()).isEqualTo(1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void should_reload_when_the_source_file_changes() throws Exception {
+        Path source = Files.createTempFile("map", ".csv");
+        try {
+            CachingMapsRepository repository = new CachingMapsRepository(countingRepository, graphNr -> source, 2, 100);
+
+            GraphMap first = repository.getGraphMap(1);
+            Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() + 60_000));
+            GraphMap second = repository.getGraphMap(1);
+
+            Assertions.assertThat(second).isNotSameAs(first);
+            Assertions.assertThat(loads.get()).isEqualTo(2);
+        } finally {
+            Files.delete(source);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.core;
+
+import com.example.core.domain.GraphMap;
+import com.example.core.domain.Metric;
+import com.example.core.domain.RouteOptions;
+import com.example.core.domain.TravelMatrix;
+import com.example.core.exceptions.MapNotFoundException;
+import com.example.core.usecase.CalculMatrice;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+public class TestCalculMatriceUT {
+
+    private final GraphMap graph = buildMap();
+    private final CalculMatrice calculMatrice = new CalculMatrice(graphNr -> graph);
+
+    private static GraphMap buildMap() {
+        GraphMap graph = BigMap.build();
+        graph.addEdge("Ajaccio", "Bastia", 150, 70, "T20");
+        return graph;
+    }
+
+    @Test
+    public void should_give_the_same_routes_as_pairwise_queries() throws MapNotFoundException {
+        List<String> towns = List.of("Béziers", "Montpellier", "Avignon", "Arles");
+        for (Metric metric : Metric.values()) {
+            for (boolean sansAutoroutes : new boolean[]{false, true}) {
+                RouteOptions options = new RouteOptions(sansAutoroutes, metric);
+                TravelMatrix matrix = calculMatrice.execute(1, towns, towns, options, true);
+                for (int origin = 0; origin < towns.size(); origin++) {
+                    for (int destination = 0; destination < towns.size(); destination++) {
+                        Assertions.assertThat(matrix.getPath(origin, destination))
+                                .isEqualTo(graph.findRoute(towns.get(origin), towns.get(destination), options));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void should_report_kilometres_and_minutes_of_each_route() throws MapNotFoundException {
+        TravelMatrix matrix = calculMatrice.execute(1, List.of("Béziers"), List.of("Avignon", "Arles", "Béziers"),
+                true, true);
+
+        // Béziers -> Arles -> Avignon : 145 + 36 km, 79.1 + 21.6 minutes
+        Assertions.assertThat(matrix.getKilometres(0, 0)).isEqualTo(181);
+        Assertions.assertThat(matrix.getMinutes(0, 0)).isEqualTo(100.7);
+        Assertions.assertThat(matrix.getKilometres(0, 2)).isZero();
+        Assertions.assertThat(matrix.hasPaths()).isFalse();
+        Assertions.assertThat(matrix.getPath(0, 0)).isEmpty();
+    }
+
+    @Test
+    public void should_mark_unknown_or_disconnected_towns_as_unreachable() throws MapNotFoundException {
+        TravelMatrix matrix = calculMatrice.execute(1, List.of("Béziers", "Paris"), List.of("Bastia", "Arles"),
+                false, false);
+
+        Assertions.assertThat(matrix.isReachable(0, 0)).isFalse();
+        Assertions.assertThat(matrix.getKilometres(0, 0)).isEqualTo(TravelMatrix.UNREACHABLE);
+        Assertions.assertThat(matrix.getMinutes(0, 0)).isNaN();
+        Assertions.assertThat(matrix.getKilometres(0, 1)).isEqualTo(145);
+        Assertions.assertThat(matrix.isReachable(1, 1)).isFalse();
+    }
+
+    @Test
+    public void should_stop_a_cancelled_matrix() {
+        List<String> towns = List.of("Béziers", "Montpellier", "Avignon", "Arles");
+
+        Assertions.assertThatThrownBy(() -> calculMatrice.execute(1, towns, towns,
+                        new RouteOptions(false, Metric.DISTANCE), false, () -> true))
+                .isInstanceOf(CancellationException.class);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.core;
+
+import com.example.core.domain.GraphMap;
+import com.example.core.exceptions.MapNotFoundException;
+import com.example.core.usecase.CalculTrajectoiresEnLot;
+import com.example.core.usecase.RouteQuery;
+import com.example.core.usecase.RouteResult;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestCalculTrajectoiresEnLotUT {
+    private final int knownMap = 1;
+    private final int missingMap = 9;
+    private final ConcurrentHashMap<Integer, AtomicInteger> loads = new ConcurrentHashMap<>();
+    private final GraphMap graph = BigMap.build();
+
+    private GraphMap load(int graphNr) throws MapNotFoundException {
+        loads.computeIfAbsent(graphNr, k -> new AtomicInteger()).incrementAndGet();
+        if (graphNr != knownMap) {
+            throw new MapNotFoundException("Map not found!", null);
+        }
+        return graph;
+    }
+
+    @Test
+    public void should_return_results_in_order_and_load_each_map_once() {
+        List<RouteQuery> queries = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            queries.add(new RouteQuery(knownMap, "Béziers", "Avignon", i % 2 == 0, i % 3 == 0));
+        }
+        CalculTrajectoiresEnLot calcul = new CalculTrajectoiresEnLot(this::load, new ForkJoinPool(4));
+
+        List<RouteResult> results = calcul.execute(queries);
+
+        Assertions.assertThat(results).hasSize(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            RouteQuery query = queries.get(i);
+            Assertions.assertThat(results.get(i).getQuery()).isSameAs(query);
+            Assertions.assertThat(results.get(i).getRoute())
+                    .isEqualTo(graph.findRoute(query.getStart(), query.getEnd(), query.getOptions()));
+        }
+        Assertions.assertThat(loads.get(knownMap).get()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_isolate_failures_of_a_single_query() {
+        List<RouteQuery> queries = List.of(
+                new RouteQuery(knownMap, "Béziers", "Avignon", false, false),
+                new RouteQuery(missingMap, "Béziers", "Avignon", false, false),
+                new RouteQuery(knownMap, "Avignon", "Arles", false, false));
+
+        List<RouteResult> results = new CalculTrajectoiresEnLot(this::load).execute(queries);
+
+        Assertions.assertThat(results.get(0).isSuccess()).isTrue();
+        Assertions.assertThat(results.get(0).getRoute()).containsExactly("Béziers", "A9", "Avignon");
+        Assertions.assertThat(results.get(1).isSuccess()).isFalse();
+        Assertions.assertThat(results.get(1).getError()).isInstanceOf(MapNotFoundException.class);
+        Assertions.assertThat(results.get(1).getRoute()).isEmpty();
+        Assertions.assertThat(results.get(2).getRoute()).containsExactly("Avignon", "RN96", "Arles");
+    }
+
+    @Test
+    public void should_fail_the_remaining_queries_of_a_cancelled_batch() {
+        List<RouteQuery> queries = List.of(new RouteQuery(knownMap, "Béziers", "Avignon", false, false),
+                new RouteQuery(knownMap, "Avignon", "Arles", false, false));
+
+        List<RouteResult> results = new CalculTrajectoiresEnLot(this::load).execute(queries, () -> true);
+
+        Assertions.assertThat(results).allSatisfy(result -> {
+            Assertions.assertThat(result.isSuccess()).isFalse();
+            Assertions.assertThat(result.getError()).isInstanceOf(CancellationException.class);
+        });
+    }
+}
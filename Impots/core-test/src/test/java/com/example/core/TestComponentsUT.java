@@ -0,0 +1,98 @@
+package com.example.core;
+
+import com.example.core.domain.Algorithm;
+import com.example.core.domain.GraphMap;
+import com.example.core.domain.Metric;
+import com.example.core.domain.RouteOptions;
+import com.example.core.domain.TravelMatrix;
+import com.example.core.exceptions.MapNotFoundException;
+import com.example.core.exceptions.UnknownTownException;
+import com.example.core.exceptions.UnreachableDestinationException;
+import com.example.core.usecase.CalculTrajectoire;
+import com.example.core.usecase.CalculTrajectoiresEnLot;
+import com.example.core.usecase.RouteCache;
+import com.example.core.usecase.RouteQuery;
+import com.example.core.usecase.RouteResult;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class TestComponentsUT {
+    private final GraphMap graph = buildMap();
+
+    private static GraphMap buildMap() {
+        GraphMap graph = new GraphMap();
+        graph.addEdge("Béziers", "Montpellier", 83, 70, "RN113");
+        graph.addEdge("Montpellier", "Avignon", 80, 80, "RN84");
+        graph.addEdge("Avignon", "Arles", 36, 100, "RN96");
+        graph.addEdge("Béziers", "Avignon", 150, 130, "A9");
+        // Nîmes n'est desservie que par l'autoroute
+        graph.addEdge("Avignon", "Nîmes", 45, 130, "A54");
+        // la Corse n'est reliée à rien
+        graph.addEdge("Ajaccio", "Bastia", 150, 80, "RT20");
+        return graph;
+    }
+
+    @Test
+    public void should_reject_unknown_towns() {
+        CalculTrajectoire calcul = new CalculTrajectoire(graphNr -> graph);
+
+        Assertions.assertThatThrownBy(() -> calcul.execute(1, "Beziers", "Avignon", false, false))
+                .isInstanceOf(UnknownTownException.class)
+                .hasMessageContaining("Beziers");
+        Assertions.assertThatThrownBy(() -> calcul.execute(1, "Béziers", "Avignonn", false, true))
+                .isInstanceOf(UnknownTownException.class)
+                .hasMessageContaining("Avignonn");
+    }
+
+    @Test
+    public void should_reject_towns_in_another_component() {
+        CalculTrajectoire calcul = new CalculTrajectoire(graphNr -> graph, new RouteCache(10));
+
+        Assertions.assertThatThrownBy(() -> calcul.execute(1, "Béziers", "Bastia", false, false))
+                .isInstanceOf(UnreachableDestinationException.class)
+                .hasMessage("No route from Béziers to Bastia");
+        Assertions.assertThatThrownBy(() -> calcul.executeAlternatives(1, "Ajaccio", "Arles",
+                        new RouteOptions(false, Metric.TIME), 3))
+                .isInstanceOf(UnreachableDestinationException.class);
+    }
+
+    @Test
+    public void should_use_the_components_of_the_profile() throws MapNotFoundException {
+        CalculTrajectoire calcul = new CalculTrajectoire(graphNr -> graph);
+
+        Assertions.assertThat(calcul.execute(1, "Béziers", "Nîmes", false, true))
+                .containsExactly("Béziers", "A9", "Avignon", "A54", "Nîmes");
+        Assertions.assertThatThrownBy(() -> calcul.execute(1, "Béziers", "Nîmes", true, true))
+                .isInstanceOf(UnreachableDestinationException.class);
+        for (Algorithm algorithm : Algorithm.values()) {
+            Assertions.assertThat(graph.findRoute("Montpellier", "Nîmes", new RouteOptions(true, Metric.TIME, algorithm)))
+                    .isEmpty();
+            Assertions.assertThat(graph.findRoute("Bastia", "Ajaccio", new RouteOptions(true, Metric.TIME, algorithm)))
+                    .containsExactly("Bastia", "RT20", "Ajaccio");
+        }
+    }
+
+    @Test
+    public void should_still_fill_the_reachable_part_of_a_matrix() {
+        TravelMatrix matrix = graph.computeMatrix(List.of("Béziers", "Bastia"), List.of("Arles", "Ajaccio"),
+                new RouteOptions(false, Metric.DISTANCE), false);
+
+        Assertions.assertThat(matrix.isReachable(0, 0)).isTrue();
+        Assertions.assertThat(matrix.getKilometres(0, 0)).isEqualTo(186);
+        Assertions.assertThat(matrix.isReachable(0, 1)).isFalse();
+        Assertions.assertThat(matrix.isReachable(1, 0)).isFalse();
+        Assertions.assertThat(matrix.getKilometres(1, 1)).isEqualTo(150);
+    }
+
+    @Test
+    public void should_report_unreachable_pairs_per_query_in_a_batch() {
+        List<RouteResult> results = new CalculTrajectoiresEnLot(graphNr -> graph).execute(List.of(
+                new RouteQuery(1, "Béziers", "Ajaccio", false, false),
+                new RouteQuery(1, "Béziers", "Arles", false, false)));
+
+        Assertions.assertThat(results.get(0).getError()).isInstanceOf(UnreachableDestinationException.class);
+        Assertions.assertThat(results.get(1).getRoute()).containsExactly("Béziers", "A9", "Avignon", "RN96", "Arles");
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.core;
+
+import com.example.core.domain.GraphMap;
+import com.example.core.domain.Metric;
+import com.example.core.domain.RouteOptions;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class TestConcurrentQueriesUT {
+
+    /**
+     * Une même carte chargée doit pouvoir répondre à plusieurs requêtes en parallèle,
+     * sans que les départs/arrivées ou l'état de recherche d'une requête n'influencent les autres.
+     */
+    @Test
+    public void should_answer_concurrent_queries_on_a_shared_map() throws Exception {
+        GraphMap graph = BigMap.build();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int task = 0; task < 8; task++) {
+                results.add(executor.submit(() -> {
+                    boolean ok = true;
+                    for (int i = 0; i < 500; i++) {
+                        ok &= graph.findRoute("Béziers", "Avignon", new RouteOptions(true, Metric.TIME))
+                                .equals(List.of("Béziers", "RN50", "Arles", "RN96", "Avignon"));
+                        ok &= graph.findRoute("Avignon", "Béziers", new RouteOptions(false, Metric.TIME))
+                                .equals(List.of("Avignon", "A9", "Béziers"));
+                        ok &= graph.findRoute("Arles", "Montpellier", new RouteOptions(true, Metric.DISTANCE))
+                                .equals(List.of("Arles", "RN96", "Avignon", "RN84", "Montpellier"));
+                    }
+                    return ok;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                Assertions.assertThat(result.get()).isTrue();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void should_not_alter_the_map_between_two_queries() {
+        GraphMap graph = BigMap.build();
+        graph.setStart("Béziers");
+        graph.setEnd("Avignon");
+
+        Assertions.assertThat(graph.getShortestTrajectory(true)).isEqualTo(graph.getShortestTrajectory(true));
+        Assertions.assertThat(graph.getFastestPath(false)).containsExactly("Béziers", "A9", "Avignon");
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.core;
+
+import com.example.core.domain.GraphMap;
+import com.example.core.domain.Metric;
+import com.example.core.domain.RouteOptions;
+import com.example.core.exceptions.MapNotFoundException;
+import data.MapRegistry;
+import data.ParserCSV;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestMapRegistryUT {
+    private static final RouteOptions DISTANCE = new RouteOptions(false, Metric.DISTANCE);
+
+    private MapRegistry registry;
+
+    @AfterEach
+    public void close() {
+        if (registry != null) {
+            registry.close();
+        }
+    }
+
+    private static void write(Path csv, String content, Instant modified) throws Exception {
+        Files.writeString(csv, content);
+        Files.setLastModifiedTime(csv, FileTime.from(modified));
+    }
+
+    private MapRegistry start(Path csv) {
+        registry = new MapRegistry(Map.of(1, csv), new ParserCSV()::load, GraphMap::freeze, Duration.ofSeconds(2));
+        registry.start(Duration.ofHours(1));
+        return registry;
+    }
+
+    @Test
+    public void should_swap_in_the_new_version_and_keep_the_old_one_usable() throws Exception {
+        Path csv = Files.createTempFile("map", ".csv");
+        write(csv, "Béziers;Montpellier;83;70;RN113;\n", Instant.now().minusSeconds(60));
+        start(csv);
+        GraphMap old = registry.getGraphMap(1);
+
+        write(csv, "Béziers;Montpellier;83;70;RN113;\n"
+                + "Montpellier;Avignon;80;80;RN84;\n", Instant.now().minusSeconds(30));
+        registry.refresh();
+        GraphMap current = registry.getGraphMap(1);
+
+        Assertions.assertThat(current).isNotSameAs(old);
+        Assertions.assertThat(current.findRoute("Béziers", "Avignon", DISTANCE))
+                .containsExactly("Béziers", "RN113", "Montpellier", "RN84", "Avignon");
+        // une requête commencée avant la substitution finit sur l'ancienne version
+        Assertions.assertThat(old.findRoute("Béziers", "Montpellier", DISTANCE))
+                .containsExactly("Béziers", "RN113", "Montpellier");
+        Assertions.assertThat(old.getNumNodes()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_not_reload_an_unchanged_or_still_written_file() throws Exception {
+        Path csv = Files.createTempFile("map", ".csv");
+        write(csv, "Béziers;Montpellier;83;70;RN113;\n", Instant.now().minusSeconds(60));
+        start(csv);
+        GraphMap old = registry.getGraphMap(1);
+
+        registry.refresh();
+        Assertions.assertThat(registry.getGraphMap(1)).isSameAs(old);
+
+        write(csv, "Béziers;Montpellier;83;70;RN113;\n"
+                + "Montpellier;Avignon;80;80;RN84;\n", Instant.now());
+        registry.refresh();
+        Assertions.assertThat(registry.getGraphMap(1)).isSameAs(old);
+    }
+
+    @Test
+    public void should_keep_the_current_version_when_a_reload_fails() throws Exception {
+        Path csv = Files.createTempFile("map", ".csv");
+        write(csv, "Béziers;Montpellier;83;70;RN113;\n", Instant.now().minusSeconds(60));
+        start(csv);
+        GraphMap old = registry.getGraphMap(1);
+
+        write(csv, "Béziers;Montpellier;pas un nombre;70;RN113;\n", Instant.now().minusSeconds(30));
+        registry.refresh();
+
+        Assertions.assertThat(registry.getGraphMap(1)).isSameAs(old);
+        Assertions.assertThat(registry.getLastFailure(1)).isNotNull();
+
+        write(csv, "Béziers;Montpellier;83;70;RN113;\n"
+                + "Montpellier;Avignon;80;80;RN84;\n", Instant.now().minusSeconds(10));
+        registry.refresh();
+        Assertions.assertThat(registry.getGraphMap(1)).isNotSameAs(old);
+        Assertions.assertThat(registry.getLastFailure(1)).isNull();
+    }
+
+    @Test
+    public void should_reject_an_unknown_map() throws Exception {
+        Path csv = Files.createTempFile("map", ".csv");
+        write(csv, "Béziers;Montpellier;83;70;RN113;\n", Instant.now().minusSeconds(60));
+        start(csv);
+
+        Assertions.assertThatThrownBy(() -> registry.getGraphMap(3)).isInstanceOf(MapNotFoundException.class);
+    }
+
+    @Test
+    public void should_not_reread_a_map_whose_first_load_failed_until_its_file_changes() throws Exception {
+        Path csv = Files.createTempFile("map", ".csv");
+        write(csv, "Béziers;Montpellier;pas un nombre;70;RN113;\n", Instant.now().minusSeconds(60));
+        AtomicInteger loads = new AtomicInteger();
+        ParserCSV parser = new ParserCSV();
+        registry = new MapRegistry(Map.of(1, csv), file -> {
+            loads.incrementAndGet();
+            return parser.load(file);
+        }, GraphMap::freeze, Duration.ofSeconds(2));
+        registry.start(Duration.ofHours(1));
+
+        for (int request = 0; request < 3; request++) {
+            Assertions.assertThatThrownBy(() -> registry.getGraphMap(1)).isInstanceOf(MapNotFoundException.class)
+                    .hasCause(registry.getLastFailure(1));
+        }
+        Assertions.assertThat(loads.get()).isEqualTo(1);
+
+        write(csv, "Béziers;Montpellier;83;70;RN113;\n", Instant.now());
+        Assertions.assertThatThrownBy(() -> registry.getGraphMap(1)).isInstanceOf(MapNotFoundException.class);
+        Assertions.assertThat(loads.get()).isEqualTo(1);
+
+        Files.setLastModifiedTime(csv, FileTime.from(Instant.now().minusSeconds(30)));
+        Assertions.assertThat(registry.getGraphMap(1).getNumNodes()).isEqualTo(2);
+        Assertions.assertThat(loads.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.core;
+
+import com.example.core.domain.Algorithm;
+import com.example.core.domain.GraphMap;
+import com.example.core.domain.Metric;
+import com.example.core.domain.RouteOptions;
+import com.example.core.port.IportMetrics;
+import com.example.core.usecase.CalculTrajectoire;
+import com.example.core.usecase.RouteCache;
+import data.CachingMapsRepository;
+import data.MapRegistry;
+import data.ParserCSV;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class TestMetricsUT {
+    private final List<long[]> searches = new ArrayList<>();
+    private final List<RouteOptions> searchOptions = new ArrayList<>();
+    private final List<Long> loadedBytes = new ArrayList<>();
+    private final List<Boolean> requests = new ArrayList<>();
+
+    private final IportMetrics recorder = new IportMetrics() {
+        @Override
+        public void routeSearched(RouteOptions options, long nanos, long settledNodes, long relaxedEdges,
+                                  long heapOperations) {
+            searchOptions.add(options);
+            searches.add(new long[]{nanos, settledNodes, relaxedEdges, heapOperations});
+        }
+
+        @Override
+        public void mapLoaded(String source, long nanos, long bytes) {
+            loadedBytes.add(bytes);
+        }
+
+        @Override
+        public void mapRequested(int graphNr, boolean cached) {
+            requests.add(cached);
+        }
+    };
+
+    @Test
+    public void should_report_each_search_with_its_counters() throws Exception {
+        GraphMap graph = BigMap.build();
+        CalculTrajectoire calcul = new CalculTrajectoire(graphNr -> graph, new RouteCache(10), recorder);
+
+        Assertions.assertThat(calcul.execute(1, "Béziers", "Avignon", true, true))
+                .containsExactly("Béziers", "RN50", "Arles", "RN96", "Avignon");
+        calcul.execute(1, "Béziers", "Avignon", true, true);
+
+        // la seconde requête est servie par le cache de routes
+        Assertions.assertThat(searches).hasSize(1);
+        Assertions.assertThat(searchOptions.get(0).getMetric()).isEqualTo(Metric.TIME);
+        Assertions.assertThat(searchOptions.get(0).isSansAutoroutes()).isTrue();
+        long[] search = searches.get(0);
+        Assertions.assertThat(search[0]).isPositive();
+        Assertions.assertThat(search[1]).isBetween(3L, 4L);
+        Assertions.assertThat(search[2]).isGreaterThanOrEqualTo(search[1]);
+        Assertions.assertThat(search[3]).isGreaterThanOrEqualTo(search[1] + search[2]);
+    }
+
+    @Test
+    public void should_count_both_directions_of_a_search() {
+        GraphMap graph = BigMap.build();
+        for (Algorithm algorithm : new Algorithm[]{Algorithm.BIDIRECTIONAL, Algorithm.CONTRACTION_HIERARCHY}) {
+            searches.clear();
+            graph.findRoute("Béziers", "Arles", new RouteOptions(false, Metric.DISTANCE, algorithm), recorder);
+
+            Assertions.assertThat(searches).hasSize(1);
+            Assertions.assertThat(searches.get(0)[1]).isGreaterThanOrEqualTo(2);
+        }
+    }
+
+    @Test
+    public void should_report_map_loads_and_cache_requests() throws Exception {
+        Path csv = Files.createTempFile("map", ".csv");
+        Files.writeString(csv, "Béziers;Montpellier;83;70;RN113;\n"
+                + "Montpellier;Avignon;80;80;RN84;\n");
+        ParserCSV parser = new ParserCSV(recorder);
+        CachingMapsRepository repository = new CachingMapsRepository(graphNr -> {
+            try {
+                return parser.load(csv);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }, graphNr -> csv, 2, 100, recorder);
+
+        repository.getGraphMap(1);
+        repository.getGraphMap(1);
+
+        Assertions.assertThat(loadedBytes).containsExactly(Files.size(csv));
+        Assertions.assertThat(requests).containsExactly(false, true);
+    }
+
+    @Test
+    public void should_report_map_requests_served_by_the_registry() throws Exception {
+        Path csv = Files.createTempFile("map", ".csv");
+        Files.writeString(csv, "Béziers;Montpellier;83;70;RN113;\n");
+        Files.setLastModifiedTime(csv, FileTime.from(Instant.now().minusSeconds(60)));
+        try (MapRegistry registry = new MapRegistry(Map.of(1, csv), new ParserCSV()::load, GraphMap::freeze,
+                Duration.ofSeconds(2), recorder)) {
+            registry.getGraphMap(1);
+            registry.start(Duration.ofHours(1));
+            registry.getGraphMap(1);
+        }
+
+        Assertions.assertThat(requests).containsExactly(false, true);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.core;
+
+import com.example.core.domain.Metric;
+import com.example.core.domain.RouteOptions;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class TestReachabilityUT {
+
+    @Test
+    public void should_find_towns_within_the_time_limit() {
+        Map<String, Double> reachable = BigMap.build().findReachable("Montpellier", new RouteOptions(true, Metric.TIME), 60);
+
+        // Béziers est à 71.1 minutes, Arles à 60 + 21.6 minutes
+        Assertions.assertThat(reachable).containsExactly(Map.entry("Montpellier", 0.), Map.entry("Avignon", 60.));
+    }
+
+    @Test
+    public void should_find_towns_within_the_distance_limit() {
+        Map<String, Double> reachable = BigMap.build().findReachable("Béziers", new RouteOptions(false, Metric.DISTANCE), 150);
+
+        Assertions.assertThat(reachable).containsExactly(Map.entry("Béziers", 0.), Map.entry("Montpellier", 83.),
+                Map.entry("Arles", 145.), Map.entry("Avignon", 150.));
+    }
+
+    @Test
+    public void should_attach_each_town_to_its_nearest_depot() {
+        List<String> reached = new ArrayList<>();
+
+        BigMap.build().findReachable(List.of("Montpellier", "Arles", "Paris"), new RouteOptions(false, Metric.TIME), 30,
+                (town, cost, origin) -> reached.add(town + " " + cost + " " + origin));
+
+        Assertions.assertThat(reached).containsExactly("Montpellier 0.0 Montpellier", "Arles 0.0 Arles",
+                "Avignon 21.6 Arles");
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.core;
+
+import com.example.core.domain.Algorithm;
+import com.example.core.domain.GraphMap;
+import com.example.core.domain.Metric;
+import com.example.core.domain.RoadProfile;
+import com.example.core.domain.RouteOptions;
+import com.example.core.domain.TravelMatrix;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class TestRoadProfilesUT {
+    private final RoadProfile camion = RoadProfile.ALL_ROADS.named("camion").withMaxSpeed(90);
+    private final RoadProfile sansNationales = RoadProfile.ALL_ROADS.named("sans nationales").withoutNationales();
+
+    private GraphMap buildMap() {
+        GraphMap graph = BigMap.build();
+        graph.addEdge("Béziers", "Pézenas", 55, 90, "D13");
+        graph.addEdge("Pézenas", "Avignon", 55, 90, "D613");
+        return graph;
+    }
+
+    @Test
+    public void should_take_the_speed_cap_into_account() {
+        GraphMap graph = buildMap();
+        for (Algorithm algorithm : Algorithm.values()) {
+            // A9 : 69.2 minutes à 130 km/h mais 100 minutes à 90 km/h, contre 73.3 minutes par Pézenas
+            Assertions.assertThat(graph.findRoute("Béziers", "Avignon", new RouteOptions(false, Metric.TIME, algorithm)))
+                    .containsExactly("Béziers", "A9", "Avignon");
+            Assertions.assertThat(graph.findRoute("Béziers", "Avignon", new RouteOptions(camion, Metric.TIME, algorithm)))
+                    .containsExactly("Béziers", "D13", "Pézenas", "D613", "Avignon");
+        }
+        TravelMatrix matrix = graph.computeMatrix(List.of("Béziers"), List.of("Arles"),
+                new RouteOptions(camion, Metric.TIME), false);
+        // RN50 : 145 km à 90 km/h au lieu de 110 km/h
+        Assertions.assertThat(matrix.getMinutes(0, 0)).isEqualTo(96.7);
+    }
+
+    @Test
+    public void should_identify_profiles_by_their_restrictions_only() {
+        Assertions.assertThat(RoadProfile.ALL_ROADS.withoutAutoroutes()).isEqualTo(RoadProfile.SANS_AUTOROUTES)
+                .hasSameHashCodeAs(RoadProfile.SANS_AUTOROUTES);
+        Assertions.assertThat(RoadProfile.ALL_ROADS.named("poids lourd").withMaxSpeed(90)).isEqualTo(camion)
+                .hasSameHashCodeAs(camion);
+        Assertions.assertThat(RoadProfile.ALL_ROADS.getName()).isEqualTo("toutes routes");
+        Assertions.assertThat(RoadProfile.SANS_AUTOROUTES.getName()).isEqualTo("sans autoroutes");
+        Assertions.assertThat(RoadProfile.ALL_ROADS.withoutNationales().withMaxSpeed(90).getName())
+                .isEqualTo("sans nationales, max 90 km/h");
+        Assertions.assertThat(camion.getName()).isEqualTo("camion");
+    }
+
+    @Test
+    public void should_avoid_national_and_named_roads() {
+        GraphMap graph = buildMap();
+        RoadProfile sansDepartementales = RoadProfile.SANS_AUTOROUTES.named("sans D13").avoiding("D13");
+        for (Algorithm algorithm : Algorithm.values()) {
+            Assertions.assertThat(graph.findRoute("Béziers", "Avignon", new RouteOptions(sansNationales, Metric.DISTANCE, algorithm)))
+                    .containsExactly("Béziers", "D13", "Pézenas", "D613", "Avignon");
+            Assertions.assertThat(graph.findRoute("Béziers", "Avignon", new RouteOptions(sansNationales.avoiding("D13"), Metric.DISTANCE, algorithm)))
+                    .containsExactly("Béziers", "A9", "Avignon");
+            Assertions.assertThat(graph.findRoute("Béziers", "Arles", new RouteOptions(sansNationales, Metric.DISTANCE, algorithm)))
+                    .isEmpty();
+            Assertions.assertThat(graph.findRoute("Béziers", "Avignon", new RouteOptions(sansDepartementales, Metric.DISTANCE, algorithm)))
+                    .containsExactly("Béziers", "RN113", "Montpellier", "RN84", "Avignon");
+        }
+    }
+
+    @Test
+    public void should_serve_several_profiles_concurrently_from_one_map() throws Exception {
+        GraphMap graph = buildMap();
+        graph.prepareProfiles(camion, sansNationales);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<Boolean> trucks = executor.submit(() -> {
+                boolean ok = true;
+                for (int i = 0; i < 500; i++) {
+                    ok &= graph.findRoute("Béziers", "Avignon", new RouteOptions(camion, Metric.TIME))
+                            .equals(List.of("Béziers", "D13", "Pézenas", "D613", "Avignon"));
+                }
+                return ok;
+            });
+            Future<Boolean> cars = executor.submit(() -> {
+                boolean ok = true;
+                for (int i = 0; i < 500; i++) {
+                    ok &= graph.findRoute("Béziers", "Avignon", new RouteOptions(RoadProfile.ALL_ROADS, Metric.TIME))
+                            .equals(List.of("Béziers", "A9", "Avignon"));
+                }
+                return ok;
+            });
+            Assertions.assertThat(trucks.get()).isTrue();
+            Assertions.assertThat(cars.get()).isTrue();
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.core;
+
+import com.example.core.domain.GraphMap;
+import com.example.core.exceptions.MapNotFoundException;
+import com.example.core.usecase.CalculTrajectoire;
+import com.example.core.usecase.RouteCache;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestRouteCacheUT {
+    private final int map = 1;
+    private GraphMap graph = BigMap.build();
+
+    @Test
+    public void should_serve_repeated_queries_from_the_cache() throws MapNotFoundException {
+        RouteCache cache = new RouteCache(100);
+        CalculTrajectoire calcul = new CalculTrajectoire(graphNr -> graph, cache);
+
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertThat(calcul.execute(map, "Béziers", "Avignon", false, false))
+                    .containsExactly("Béziers", "A9", "Avignon");
+            Assertions.assertThat(calcul.execute(map, "Béziers", "Avignon", true, false))
+                    .containsExactly("Béziers", "RN113", "Montpellier", "RN84", "Avignon");
+        }
+
+        Assertions.assertThat(cache.getMissCount()).isEqualTo(2);
+        Assertions.assertThat(cache.getHitCount()).isEqualTo(4);
+        Assertions.assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_not_serve_routes_of_a_reloaded_map() throws MapNotFoundException {
+        RouteCache cache = new RouteCache(100);
+        CalculTrajectoire calcul = new CalculTrajectoire(graphNr -> graph, cache);
+        Assertions.assertThat(calcul.execute(map, "Béziers", "Avignon", false, false))
+                .containsExactly("Béziers", "A9", "Avignon");
+
+        graph = BigMap.build();
+        graph.addEdge("Béziers", "Avignon", 100, 130, "A75");
+
+        Assertions.assertThat(calcul.execute(map, "Béziers", "Avignon", false, false))
+                .containsExactly("Béziers", "A75", "Avignon");
+        Assertions.assertThat(cache.getHitCount()).isZero();
+    }
+
+    @Test
+    public void should_evict_least_recently_used_routes() throws MapNotFoundException {
+        RouteCache cache = new RouteCache(1);
+        CalculTrajectoire calcul = new CalculTrajectoire(graphNr -> graph, cache);
+
+        calcul.execute(map, "Béziers", "Avignon", false, false);
+        calcul.execute(map, "Avignon", "Arles", false, false);
+        calcul.execute(map, "Béziers", "Avignon", false, false);
+
+        Assertions.assertThat(cache.size()).isEqualTo(1);
+        Assertions.assertThat(cache.getHitCount()).isZero();
+        Assertions.assertThat(cache.getMissCount()).isEqualTo(3);
+    }
+}
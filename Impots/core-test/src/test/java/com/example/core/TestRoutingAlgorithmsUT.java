@@ -0,0 +1,205 @@
+package com.example.core;
+
+import com.example.core.domain.Algorithm;
+import com.example.core.domain.Edge;
+import com.example.core.domain.GraphMap;
+import com.example.core.domain.Metric;
+import com.example.core.domain.RouteOptions;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Chaque algorithme accéléré doit trouver un itinéraire de même coût que le Dijkstra de référence,
+ * sur des cartes aléatoires (les chemins eux-mêmes peuvent différer en cas d'égalité).
+ */
+public class TestRoutingAlgorithmsUT {
+    private static final int TOWNS = 300;
+    private static final int ROADS = 900;
+    private static final int QUERIES = 200;
+
+    private final Map<String, int[]> roads = new HashMap<>();
+
+    private GraphMap randomMap(long seed) {
+        Random random = new Random(seed);
+        GraphMap graph = new GraphMap();
+        for (int town = 1; town < TOWNS; town++) {
+            addRoad(graph, random, town, random.nextInt(town));
+        }
+        for (int i = TOWNS; i < ROADS; i++) {
+            addRoad(graph, random, random.nextInt(TOWNS), random.nextInt(TOWNS));
+        }
+        return graph;
+    }
+
+    /**
+     * Villes placées au hasard dans le sud de la France ; chaque route est au moins aussi longue
+     * que la distance à vol d'oiseau entre ses deux villes.
+     */
+    private GraphMap geographicMap(long seed) {
+        Random random = new Random(seed);
+        double[][] towns = new double[TOWNS][];
+        GraphMap graph = new GraphMap();
+        for (int town = 0; town < TOWNS; town++) {
+            towns[town] = new double[]{43 + 2 * random.nextDouble(), 1 + 4 * random.nextDouble()};
+        }
+        for (int i = 0; i < ROADS; i++) {
+            int from = i < TOWNS - 1 ? i + 1 : random.nextInt(TOWNS);
+            int to = i < TOWNS - 1 ? random.nextInt(i + 1) : random.nextInt(TOWNS);
+            int km = (int) Math.ceil(greatCircleKm(towns[from], towns[to]) * (1 + random.nextDouble() / 2));
+            String name = (random.nextInt(4) == 0 ? "A" : "RN") + roads.size();
+            int speed = 50 + random.nextInt(81);
+            roads.put(name, new int[]{km, speed});
+            graph.addEdge("Ville" + from, "Ville" + to, km, speed, name);
+        }
+        for (int town = 0; town < TOWNS; town++) {
+            graph.setCoordinates("Ville" + town, towns[town][0], towns[town][1]);
+        }
+        return graph;
+    }
+
+    private static double greatCircleKm(double[] from, double[] to) {
+        double dLatitude = Math.toRadians(to[0] - from[0]);
+        double dLongitude = Math.toRadians(to[1] - from[1]);
+        double a = Math.pow(Math.sin(dLatitude / 2), 2) + Math.cos(Math.toRadians(from[0]))
+                * Math.cos(Math.toRadians(to[0])) * Math.pow(Math.sin(dLongitude / 2), 2);
+        return 2 * 6371.0088 * Math.asin(Math.sqrt(a));
+    }
+
+    private void addRoad(GraphMap graph, Random random, int from, int to) {
+        String name = (random.nextInt(4) == 0 ? "A" : "RN") + roads.size();
+        int km = 1 + random.nextInt(150);
+        int speed = 50 + random.nextInt(81);
+        roads.put(name, new int[]{km, speed});
+        graph.addEdge("Ville" + from, "Ville" + to, km, speed, name);
+    }
+
+    private long cost(List<String> path, Metric metric) {
+        long total = 0;
+        for (int i = 1; i < path.size(); i += 2) {
+            int[] road = roads.get(path.get(i));
+            total += metric == Metric.TIME ? Edge.travelTime(road[0], road[1]) : road[0];
+        }
+        return total;
+    }
+
+    private void assertSameCostAsDijkstra(GraphMap graph, Algorithm algorithm) {
+        Random random = new Random(42);
+        for (int query = 0; query < QUERIES; query++) {
+            String start = "Ville" + random.nextInt(TOWNS);
+            String end = "Ville" + random.nextInt(TOWNS);
+            for (Metric metric : Metric.values()) {
+                for (boolean sansAutoroutes : new boolean[]{false, true}) {
+                    RouteOptions reference = new RouteOptions(sansAutoroutes, metric);
+                    List<String> expected = graph.findRoute(start, end, reference);
+                    List<String> actual = graph.findRoute(start, end, reference.withAlgorithm(algorithm));
+
+                    Assertions.assertThat(actual.isEmpty()).isEqualTo(expected.isEmpty());
+                    if (!expected.isEmpty()) {
+                        Assertions.assertThat(actual.get(0)).isEqualTo(start);
+                        Assertions.assertThat(actual.get(actual.size() - 1)).isEqualTo(end);
+                        Assertions.assertThat(cost(actual, metric)).isEqualTo(cost(expected, metric));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void bidirectional_search_should_find_routes_as_short_as_dijkstra() {
+        assertSameCostAsDijkstra(randomMap(1), Algorithm.BIDIRECTIONAL);
+    }
+
+    @Test
+    public void astar_search_should_find_routes_as_short_as_dijkstra() {
+        assertSameCostAsDijkstra(geographicMap(2), Algorithm.ASTAR);
+    }
+
+    @Test
+    public void astar_search_should_fall_back_to_dijkstra_without_coordinates() {
+        assertSameCostAsDijkstra(randomMap(3), Algorithm.ASTAR);
+    }
+
+    @Test
+    public void landmarks_search_should_find_routes_as_short_as_dijkstra() {
+        GraphMap graph = randomMap(5);
+        graph.prepareLandmarks();
+        assertSameCostAsDijkstra(graph, Algorithm.LANDMARKS);
+    }
+
+    @Test
+    public void landmarks_search_should_guide_the_default_queries_once_prepared() {
+        GraphMap graph = randomMap(6);
+        graph.setStart("Ville0");
+        graph.setEnd("Ville" + (TOWNS - 1));
+        List<String> shortest = graph.getShortestTrajectory(false);
+        List<String> fastest = graph.getFastestPath(true);
+
+        graph.prepareLandmarks();
+
+        Assertions.assertThat(cost(graph.getShortestTrajectory(false), Metric.DISTANCE))
+                .isEqualTo(cost(shortest, Metric.DISTANCE));
+        Assertions.assertThat(cost(graph.getFastestPath(true), Metric.TIME)).isEqualTo(cost(fastest, Metric.TIME));
+    }
+
+    @Test
+    public void contraction_hierarchy_should_find_routes_as_short_as_dijkstra() {
+        GraphMap graph = randomMap(4);
+        RouteOptions options = new RouteOptions(true, Metric.TIME, Algorithm.CONTRACTION_HIERARCHY);
+        Assertions.assertThat(graph.isPrepared(options)).isFalse();
+        graph.prepareContractionHierarchies();
+        Assertions.assertThat(graph.isPrepared(options)).isTrue();
+        assertSameCostAsDijkstra(graph, Algorithm.CONTRACTION_HIERARCHY);
+    }
+
+    @Test
+    public void contraction_hierarchy_should_unpack_shortcuts_into_real_roads() {
+        GraphMap graph = new GraphMap();
+        for (int town = 0; town < 20; town++) {
+            graph.addEdge("Ville" + town, "Ville" + (town + 1), 10, 90, "RN" + town);
+        }
+
+        List<String> route = graph.findRoute("Ville0", "Ville20",
+                new RouteOptions(false, Metric.DISTANCE, Algorithm.CONTRACTION_HIERARCHY));
+
+        Assertions.assertThat(route).hasSize(41);
+        for (int town = 0; town <= 20; town++) {
+            Assertions.assertThat(route.get(2 * town)).isEqualTo("Ville" + town);
+        }
+        Assertions.assertThat(graph.freeze().getContractionHierarchy(Metric.DISTANCE, false).getNumShortcuts())
+                .isPositive();
+    }
+
+    @Test
+    public void bidirectional_search_should_return_the_expected_route_on_the_big_map() {
+        GraphMap graph = BigMap.build();
+
+        Assertions.assertThat(graph.findRoute("Béziers", "Avignon", new RouteOptions(true, Metric.TIME, Algorithm.BIDIRECTIONAL)))
+                .containsExactly("Béziers", "RN50", "Arles", "RN96", "Avignon");
+        Assertions.assertThat(graph.findRoute("Béziers", "Avignon", new RouteOptions(false, Metric.TIME, Algorithm.BIDIRECTIONAL)))
+                .containsExactly("Béziers", "A9", "Avignon");
+        Assertions.assertThat(graph.findRoute("Béziers", "Avignon", new RouteOptions(true, Metric.DISTANCE, Algorithm.BIDIRECTIONAL)))
+                .containsExactly("Béziers", "RN113", "Montpellier", "RN84", "Avignon");
+        Assertions.assertThat(graph.findRoute("Béziers", "Béziers", new RouteOptions(true, Metric.DISTANCE, Algorithm.BIDIRECTIONAL)))
+                .containsExactly("Béziers");
+    }
+
+    @Test
+    public void sans_autoroutes_should_only_avoid_numbered_highways() {
+        GraphMap graph = new GraphMap();
+        graph.addEdge("Béziers", "Avignon", 150, 130, "A9");
+        graph.addEdge("Béziers", "Arles", 145, 110, "RN Avenue d'Arles");
+        graph.addEdge("Arles", "Avignon", 36, 100, "RD570A");
+
+        for (Algorithm algorithm : Algorithm.values()) {
+            Assertions.assertThat(graph.findRoute("Béziers", "Avignon", new RouteOptions(true, Metric.DISTANCE, algorithm)))
+                    .containsExactly("Béziers", "RN Avenue d'Arles", "Arles", "RD570A", "Avignon");
+            Assertions.assertThat(graph.findRoute("Béziers", "Avignon", new RouteOptions(false, Metric.DISTANCE, algorithm)))
+                    .containsExactly("Béziers", "A9", "Avignon");
+        }
+    }
+}
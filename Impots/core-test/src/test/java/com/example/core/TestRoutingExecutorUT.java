@@ -0,0 +1,79 @@
+package com.example.core;
+
+import api.RoutingExecutor;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestRoutingExecutorUT {
+
+    @Test
+    public void should_reject_requests_beyond_the_concurrency_bound() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (RoutingExecutor executor = new RoutingExecutor(1, 1, Duration.ofSeconds(10))) {
+            CompletableFuture<String> running = executor.submit(() -> {
+                release.await();
+                return "first";
+            });
+            CompletableFuture<String> queued = executor.submit(() -> "second");
+
+            Assertions.assertThatThrownBy(() -> executor.submit(() -> "third"))
+                    .isInstanceOf(RejectedExecutionException.class);
+
+            release.countDown();
+            Assertions.assertThat(running.get()).isEqualTo("first");
+            Assertions.assertThat(queued.get()).isEqualTo("second");
+        }
+    }
+
+    @Test
+    public void should_time_out_and_skip_requests_that_waited_too_long() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger started = new AtomicInteger();
+        try (RoutingExecutor executor = new RoutingExecutor(1, 1, Duration.ofMillis(100))) {
+            CompletableFuture<Integer> running = executor.submit(() -> {
+                release.await();
+                return started.incrementAndGet();
+            });
+            CompletableFuture<Integer> queued = executor.submit(started::incrementAndGet);
+
+            Assertions.assertThatThrownBy(running::get)
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(TimeoutException.class);
+            Assertions.assertThatThrownBy(queued::get).hasCauseInstanceOf(TimeoutException.class);
+
+            release.countDown();
+            Assertions.assertThat(executor.submit(() -> "next").get()).isEqualTo("next");
+            Assertions.assertThat(started.get()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void should_tell_a_long_search_to_stop_once_timed_out() throws Exception {
+        CountDownLatch stopped = new CountDownLatch(1);
+        AtomicBoolean cancelledAtStart = new AtomicBoolean(true);
+        try (RoutingExecutor executor = new RoutingExecutor(1, 1, Duration.ofMillis(100))) {
+            CompletableFuture<String> search = executor.submit(cancelled -> {
+                cancelledAtStart.set(cancelled.getAsBoolean());
+                while (!cancelled.getAsBoolean()) {
+                    Thread.onSpinWait();
+                }
+                stopped.countDown();
+                return "late";
+            });
+
+            Assertions.assertThatThrownBy(search::get).hasCauseInstanceOf(TimeoutException.class);
+            Assertions.assertThat(stopped.await(5, TimeUnit.SECONDS)).isTrue();
+            Assertions.assertThat(cancelledAtStart.get()).isFalse();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.core;
+
+import com.example.core.domain.Algorithm;
+import com.example.core.domain.CompactGraph;
+import com.example.core.domain.GraphMap;
+import com.example.core.domain.Metric;
+import com.example.core.domain.RoadProfile;
+import com.example.core.domain.RouteOptions;
+import com.example.core.domain.TrafficUpdate;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class TestTrafficUpdatesUT {
+    private final List<String> viaA9 = List.of("Béziers", "A9", "Avignon");
+    private final List<String> viaArles = List.of("Béziers", "RN50", "Arles", "RN96", "Avignon");
+    private final List<String> viaMontpellier = List.of("Béziers", "RN113", "Montpellier", "RN84", "Avignon");
+
+    @Test
+    public void should_route_with_updated_speeds_and_closures() {
+        GraphMap graph = BigMap.build();
+
+        graph.applyTraffic(new TrafficUpdate().setSpeed("A9", 50).close("RN50"));
+
+        for (Algorithm algorithm : Algorithm.values()) {
+            // A9 : 150 km à 50 km/h = 180 minutes, RN50 fermée
+            Assertions.assertThat(graph.findRoute("Béziers", "Avignon", new RouteOptions(false, Metric.TIME, algorithm)))
+                    .isEqualTo(viaMontpellier);
+        }
+
+        graph.applyTraffic(new TrafficUpdate().reopen("RN50"));
+
+        Assertions.assertThat(graph.findRoute("Béziers", "Avignon", new RouteOptions(false, Metric.TIME)))
+                .isEqualTo(viaArles);
+        Assertions.assertThat(graph.getNeighbors("Béziers")).hasSize(3);
+    }
+
+    @Test
+    public void should_keep_prepared_profiles_and_hierarchies_in_the_new_snapshot() {
+        GraphMap graph = BigMap.build();
+        RoadProfile sansA9 = RoadProfile.ALL_ROADS.avoiding("A9");
+        graph.prepareProfiles(sansA9);
+        graph.prepareContractionHierarchies();
+        graph.freeze().getContractionHierarchy(Metric.TIME, sansA9);
+
+        graph.applyTraffic(new TrafficUpdate().close("RN50"));
+
+        CompactGraph snapshot = graph.freeze();
+        Assertions.assertThat(snapshot.hasContractionHierarchy(Metric.TIME, sansA9)).isTrue();
+        Assertions.assertThat(snapshot.hasContractionHierarchy(Metric.DISTANCE, RoadProfile.SANS_AUTOROUTES)).isTrue();
+        Assertions.assertThat(graph.findRoute("Béziers", "Avignon",
+                new RouteOptions(sansA9, Metric.TIME, Algorithm.CONTRACTION_HIERARCHY))).isEqualTo(viaMontpellier);
+    }
+
+    @Test
+    public void should_close_a_road_segment_in_both_directions() {
+        GraphMap graph = BigMap.build();
+        CompactGraph frozen = graph.freeze();
+        int avignon = frozen.getNodeId("Avignon");
+        int arc = frozen.getFirstArc(frozen.getNodeId("Béziers"));
+        while (frozen.getArcTarget(arc) != avignon) {
+            arc++;
+        }
+
+        graph.applyTraffic(new TrafficUpdate().closeArc(arc));
+
+        Assertions.assertThat(graph.findRoute("Béziers", "Avignon", new RouteOptions(false, Metric.TIME)))
+                .isEqualTo(viaArles);
+        for (Algorithm algorithm : Algorithm.values()) {
+            Assertions.assertThat(graph.findRoute("Avignon", "Béziers", new RouteOptions(false, Metric.TIME, algorithm)))
+                    .containsExactly("Avignon", "RN96", "Arles", "RN50", "Béziers");
+        }
+    }
+
+    @Test
+    public void should_drop_landmarks_computed_before_a_road_was_reopened() {
+        GraphMap graph = BigMap.build();
+        graph.applyTraffic(new TrafficUpdate().close("A9").close("RN50"));
+        graph.prepareLandmarks();
+
+        graph.applyTraffic(new TrafficUpdate().reopen("A9").reopen("RN50"));
+
+        Assertions.assertThat(graph.freeze().hasLandmarks()).isFalse();
+        for (Metric metric : Metric.values()) {
+            Assertions.assertThat(graph.findRoute("Béziers", "Avignon", new RouteOptions(false, metric, Algorithm.LANDMARKS)))
+                    .isEqualTo(graph.findRoute("Béziers", "Avignon", new RouteOptions(false, metric)));
+        }
+        graph.setStart("Béziers");
+        graph.setEnd("Avignon");
+        Assertions.assertThat(graph.getShortestTrajectory(false)).isEqualTo(viaA9);
+    }
+
+    @Test
+    public void should_leave_previous_snapshots_untouched() {
+        GraphMap graph = BigMap.build();
+        CompactGraph before = graph.freeze();
+
+        graph.applyTraffic(new TrafficUpdate().close("A9"));
+
+        Assertions.assertThat(before.findRoute("Béziers", "Avignon", new RouteOptions(false, Metric.TIME))).isEqualTo(viaA9);
+        Assertions.assertThat(graph.findRoute("Béziers", "Avignon", new RouteOptions(false, Metric.TIME))).isEqualTo(viaArles);
+        Assertions.assertThat(graph.freeze()).isNotSameAs(before);
+    }
+
+    @Test
+    public void should_give_readers_a_consistent_snapshot_during_updates() throws Exception {
+        GraphMap graph = BigMap.build();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<Boolean> readers = executor.submit(() -> {
+                boolean ok = true;
+                for (int i = 0; i < 2000; i++) {
+                    List<String> route = graph.findRoute("Béziers", "Avignon", new RouteOptions(false, Metric.TIME));
+                    ok &= route.equals(viaA9) || route.equals(viaMontpellier);
+                }
+                return ok;
+            });
+            for (int i = 0; i < 200; i++) {
+                // les deux mises à jour d'un lot sont visibles ensemble ou pas du tout
+                graph.applyTraffic(i % 2 == 0
+                        ? new TrafficUpdate().close("A9").close("RN50")
+                        : new TrafficUpdate().reopen("A9").reopen("RN50"));
+            }
+            Assertions.assertThat(readers.get()).isTrue();
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.core.domain;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A* : Dijkstra dont la clé de tas est {@code coût depuis le départ + minorant jusqu'à l'arrivée}.
+ * Un nœud déjà traité peut être rouvert si l'on trouve mieux, ce qui garde le résultat optimal même
+ * quand le minorant n'est pas cohérent (par exemple si certaines villes n'ont pas de coordonnées).
+ */
+final class AStar {
+    private static final int NO_NODE = -1;
+
+    private AStar() {
+    }
+
+    static List<String> findRoute(CompactGraph graph, SearchScratch search, int start, int end, RouteOptions options,
+                                  LowerBound lowerBound) {
+        Adjacency adjacency = graph.adjacency(options.getProfile());
+        boolean byTime = options.getMetric() == Metric.TIME;
+        IndexedMinHeap heap = search.heap;
+
+        search.begin();
+        search.reach(start, 0., NO_NODE, NO_NODE);
+        heap.insertOrDecrease(start, lowerBound.estimate(start));
+
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            search.settle(current);
+            if (current == end) {
+                return graph.buildPath(adjacency, start, end, search.previousNode, search.previousArc);
+            }
+            double currentCost = search.costs[current];
+            for (int edge = adjacency.offsets[current]; edge < adjacency.offsets[current + 1]; edge++) {
+                int neighbor = adjacency.targets[edge];
+                double newCost = currentCost + adjacency.cost(edge, byTime);
+                if (!search.isReached(neighbor) || newCost < search.costs[neighbor]) {
+                    search.reach(neighbor, newCost, current, edge);
+                    heap.insertOrDecrease(neighbor, newCost + lowerBound.estimate(neighbor));
+                }
+            }
+        }
+        return Collections.emptyList();
+    }
+}
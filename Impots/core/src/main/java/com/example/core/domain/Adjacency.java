@@ -0,0 +1,114 @@
+package com.example.core.domain;
+
+import java.util.Arrays;
+
+/**
+ * Adjacence figée d'un {@link RoadProfile}, au format CSR : seuls les arcs permis et ouverts y figurent, avec leurs
+ * km et leur temps de parcours (vitesse plafonnée comprise) recopiés, pour que les boucles de recherche
+ * ne fassent aucun test par arc.
+ * {@code arcs[e]} renvoie à l'arc correspondant de la {@link CompactGraph} (nom de route, etc.).
+ */
+final class Adjacency {
+    final int[] offsets;
+    final int[] targets;
+    final int[] arcs;
+    final int[] kilometres;
+    final int[] travelTimes;
+    private final int[] components;
+
+    private Adjacency(int[] offsets, int[] targets, int[] arcs, int[] kilometres, int[] travelTimes) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.arcs = arcs;
+        this.kilometres = kilometres;
+        this.travelTimes = travelTimes;
+        this.components = labelComponents();
+    }
+
+    /**
+     * Numérote les composantes connexes par parcours en largeur ; les routes étant à double sens, deux villes
+     * de même numéro sont reliées par un chemin dans les deux sens.
+     */
+    private int[] labelComponents() {
+        int numNodes = offsets.length - 1;
+        int[] labels = new int[numNodes];
+        Arrays.fill(labels, -1);
+        int[] queue = new int[numNodes];
+        int component = 0;
+        for (int root = 0; root < numNodes; root++) {
+            if (labels[root] >= 0) {
+                continue;
+            }
+            int head = 0;
+            int tail = 0;
+            labels[root] = component;
+            queue[tail++] = root;
+            while (head < tail) {
+                int node = queue[head++];
+                for (int edge = offsets[node]; edge < offsets[node + 1]; edge++) {
+                    int neighbor = targets[edge];
+                    if (labels[neighbor] < 0) {
+                        labels[neighbor] = component;
+                        queue[tail++] = neighbor;
+                    }
+                }
+            }
+            component++;
+        }
+        return labels;
+    }
+
+    /**
+     * @return vrai si un chemin relie les deux villes avec les arcs de cette adjacence
+     */
+    boolean areConnected(int a, int b) {
+        return components[a] == components[b];
+    }
+
+    /**
+     * Ne garde que les arcs de {@code graph} dont la route est permise par {@code profile}, dans le même ordre.
+     */
+    static Adjacency of(CompactGraph graph, RoadProfile profile) {
+        boolean[] allowed = new boolean[graph.getNumRoads()];
+        for (int road = 0; road < allowed.length; road++) {
+            allowed[road] = profile.allows(graph.getRoadName(road), graph.isAutoroute(road));
+        }
+        boolean capped = profile.getMaxSpeed() > 0;
+        int numNodes = graph.getNumNodes();
+        int count = 0;
+        for (int arc = 0; arc < graph.getNumArcs(); arc++) {
+            if (allowed[graph.getArcRoad(arc)] && !graph.isArcClosed(arc)) {
+                count++;
+            }
+        }
+        int[] offsets = new int[numNodes + 1];
+        int[] targets = new int[count];
+        int[] arcs = new int[count];
+        int[] kilometres = new int[count];
+        int[] travelTimes = new int[count];
+        int edge = 0;
+        for (int node = 0; node < numNodes; node++) {
+            offsets[node] = edge;
+            for (int arc = graph.getFirstArc(node); arc < graph.getFirstArc(node + 1); arc++) {
+                if (allowed[graph.getArcRoad(arc)] && !graph.isArcClosed(arc)) {
+                    targets[edge] = graph.getArcTarget(arc);
+                    arcs[edge] = arc;
+                    kilometres[edge] = graph.getArcWeight(arc);
+                    travelTimes[edge] = capped
+                            ? Edge.travelTime(graph.getArcWeight(arc), profile.speedOn(graph.getArcSpeed(arc)))
+                            : graph.getArcTravelTime(arc);
+                    edge++;
+                }
+            }
+        }
+        offsets[numNodes] = edge;
+        return new Adjacency(offsets, targets, arcs, kilometres, travelTimes);
+    }
+
+    /**
+     * Coût entier d'un arc : km, ou dixièmes de minute pour le critère temps.
+     */
+    int cost(int edge, boolean byTime) {
+        return byTime ? travelTimes[edge] : kilometres[edge];
+    }
+}
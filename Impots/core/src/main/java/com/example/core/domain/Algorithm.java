@@ -0,0 +1,28 @@
+package com.example.core.domain;
+
+/**
+ * Algorithme utilisé pour répondre à une requête d'itinéraire.
+ */
+public enum Algorithm {
+    /**
+     * Dijkstra depuis le départ, arrêté dès que l'arrivée est traitée.
+     */
+    DIJKSTRA,
+    /**
+     * Dijkstra lancé simultanément depuis le départ et depuis l'arrivée.
+     */
+    BIDIRECTIONAL,
+    /**
+     * A* guidé par la distance à vol d'oiseau jusqu'à l'arrivée (nécessite les coordonnées des villes).
+     */
+    ASTAR,
+    /**
+     * Recherche montante dans une hiérarchie de contraction précalculée (voir {@link GraphMap#prepareContractionHierarchies()}).
+     */
+    CONTRACTION_HIERARCHY,
+    /**
+     * A* guidé par les tables de distances et de temps de quelques villes repères (ALT), sans coordonnées
+     * (voir {@link GraphMap#prepareLandmarks()}).
+     */
+    LANDMARKS
+}
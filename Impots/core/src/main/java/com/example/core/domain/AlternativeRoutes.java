@@ -0,0 +1,177 @@
+package com.example.core.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Itinéraires alternatifs par pénalités : après chaque itinéraire retenu, le coût de ses arcs est
+ * augmenté et l'on relance la recherche, qui s'en écarte alors là où un détour raisonnable existe.
+ * <p>
+ * Un seul arbre de recherche arrière depuis l'arrivée, calculé avec les coûts réels, sert de minorant
+ * exact à toutes les itérations : les pénalités ne font qu'augmenter les coûts, chaque itération est donc
+ * un A* qui ne traite guère que les villes proches des itinéraires possibles. Les tampons du thread sont
+ * réutilisés d'une itération à l'autre.
+ */
+final class AlternativeRoutes {
+    private static final int NO_NODE = -1;
+    /**
+     * Part du coût d'un arc ajoutée pour chaque itinéraire déjà retenu qui l'emprunte.
+     */
+    private static final double PENALTY = 0.5;
+    /**
+     * Une alternative coûte au plus 50 % de plus que le meilleur itinéraire.
+     */
+    private static final double MAX_STRETCH = 1.5;
+    private static final int ATTEMPTS_PER_ROUTE = 4;
+
+    private AlternativeRoutes() {
+    }
+
+    static List<Route> find(CompactGraph graph, SearchScratch forward, int start, int end, RouteOptions options,
+                            int count) {
+        if (count <= 0) {
+            return Collections.emptyList();
+        }
+        if (start == end) {
+            return Collections.singletonList(new Route(Collections.singletonList(graph.getNodeName(start)), 0, 0));
+        }
+        Adjacency adjacency = graph.adjacency(options.getProfile());
+        boolean byTime = options.getMetric() == Metric.TIME;
+        SearchScratch backward = forward.backward();
+        double best = reverseTree(adjacency, backward, start, end, byTime);
+        if (best == Double.MAX_VALUE) {
+            return Collections.emptyList();
+        }
+
+        List<Route> routes = new ArrayList<>();
+        List<int[]> accepted = new ArrayList<>();
+        forward.beginPenalties(adjacency.targets.length);
+        for (int attempt = 0; attempt < count * ATTEMPTS_PER_ROUTE && routes.size() < count; attempt++) {
+            int[] edges = penalizedSearch(adjacency, forward, backward, start, end, byTime);
+            if (edges == null) {
+                break;
+            }
+            for (int edge : edges) {
+                forward.penalize(edge);
+            }
+            if (cost(adjacency, edges, byTime) > best * MAX_STRETCH || contains(accepted, edges)) {
+                continue;
+            }
+            accepted.add(edges);
+            routes.add(toRoute(graph, adjacency, start, edges));
+        }
+        return routes;
+    }
+
+    /**
+     * Dijkstra depuis l'arrivée avec les coûts réels, arrêté au-delà de {@link #MAX_STRETCH} fois la distance
+     * du départ : une ville non traitée ne peut appartenir à aucune alternative acceptable.
+     *
+     * @return le coût du meilleur itinéraire, ou {@link Double#MAX_VALUE} si le départ n'est pas atteignable
+     */
+    private static double reverseTree(Adjacency adjacency, SearchScratch backward, int start, int end, boolean byTime) {
+        IndexedMinHeap heap = backward.heap;
+        backward.begin();
+        backward.reach(end, 0., NO_NODE, NO_NODE);
+        heap.insertOrDecrease(end, 0.);
+        double limit = Double.MAX_VALUE;
+        while (!heap.isEmpty() && heap.peekKey() <= limit) {
+            int current = heap.poll();
+            backward.settle(current);
+            double currentCost = backward.costs[current];
+            if (current == start) {
+                limit = currentCost * MAX_STRETCH;
+            }
+            for (int edge = adjacency.offsets[current]; edge < adjacency.offsets[current + 1]; edge++) {
+                int neighbor = adjacency.targets[edge];
+                if (backward.isSettled(neighbor)) {
+                    continue;
+                }
+                double newCost = currentCost + adjacency.cost(edge, byTime);
+                if (!backward.isReached(neighbor) || newCost < backward.costs[neighbor]) {
+                    backward.reach(neighbor, newCost, current, edge);
+                    heap.insertOrDecrease(neighbor, newCost);
+                }
+            }
+        }
+        return backward.isSettled(start) ? backward.costs[start] : Double.MAX_VALUE;
+    }
+
+    /**
+     * A* sur les coûts pénalisés, guidé par l'arbre arrière ; les villes hors de cet arbre sont ignorées.
+     *
+     * @return les arcs de l'itinéraire trouvé, ou null
+     */
+    private static int[] penalizedSearch(Adjacency adjacency, SearchScratch forward, SearchScratch backward,
+                                         int start, int end, boolean byTime) {
+        IndexedMinHeap heap = forward.heap;
+        forward.begin();
+        forward.reach(start, 0., NO_NODE, NO_NODE);
+        heap.insertOrDecrease(start, backward.costs[start]);
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            forward.settle(current);
+            if (current == end) {
+                return edgesTo(forward, start, end);
+            }
+            double currentCost = forward.costs[current];
+            for (int edge = adjacency.offsets[current]; edge < adjacency.offsets[current + 1]; edge++) {
+                int neighbor = adjacency.targets[edge];
+                if (forward.isSettled(neighbor) || !backward.isSettled(neighbor)) {
+                    continue;
+                }
+                double newCost = currentCost + adjacency.cost(edge, byTime) * (1 + PENALTY * forward.getPenalty(edge));
+                if (!forward.isReached(neighbor) || newCost < forward.costs[neighbor]) {
+                    forward.reach(neighbor, newCost, current, edge);
+                    heap.insertOrDecrease(neighbor, newCost + backward.costs[neighbor]);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static int[] edgesTo(SearchScratch forward, int start, int end) {
+        int length = 0;
+        for (int node = end; node != start; node = forward.previousNode[node]) {
+            length++;
+        }
+        int[] edges = new int[length];
+        for (int node = end; node != start; node = forward.previousNode[node]) {
+            edges[--length] = forward.previousArc[node];
+        }
+        return edges;
+    }
+
+    private static double cost(Adjacency adjacency, int[] edges, boolean byTime) {
+        double total = 0;
+        for (int edge : edges) {
+            total += adjacency.cost(edge, byTime);
+        }
+        return total;
+    }
+
+    private static boolean contains(List<int[]> accepted, int[] edges) {
+        for (int[] route : accepted) {
+            if (Arrays.equals(route, edges)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Route toRoute(CompactGraph graph, Adjacency adjacency, int start, int[] edges) {
+        List<String> path = new ArrayList<>(2 * edges.length + 1);
+        path.add(graph.getNodeName(start));
+        int kilometres = 0;
+        int travelTime = 0;
+        for (int edge : edges) {
+            path.add(graph.getRoadName(adjacency, edge));
+            path.add(graph.getNodeName(adjacency.targets[edge]));
+            kilometres += adjacency.kilometres[edge];
+            travelTime += adjacency.travelTimes[edge];
+        }
+        return new Route(Collections.unmodifiableList(path), kilometres, travelTime);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.core.domain;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Dijkstra bidirectionnel : une recherche part du départ, l'autre de l'arrivée, et l'on s'arrête
+ * dès que la somme des deux plus petites clés des tas dépasse le meilleur chemin déjà rencontré.
+ * Les routes étant toujours ajoutées dans les deux sens, la recherche arrière parcourt les mêmes arcs.
+ */
+final class BidirectionalDijkstra {
+    private static final int NO_NODE = -1;
+
+    private BidirectionalDijkstra() {
+    }
+
+    static List<String> findRoute(CompactGraph graph, SearchScratch forward, int start, int end, RouteOptions options) {
+        if (start == end) {
+            return Collections.singletonList(graph.getNodeName(start));
+        }
+        SearchScratch backward = forward.backward();
+        Adjacency adjacency = graph.adjacency(options.getProfile());
+        boolean byTime = options.getMetric() == Metric.TIME;
+
+        forward.begin();
+        backward.begin();
+        forward.reach(start, 0., NO_NODE, NO_NODE);
+        forward.heap.insertOrDecrease(start, 0.);
+        backward.reach(end, 0., NO_NODE, NO_NODE);
+        backward.heap.insertOrDecrease(end, 0.);
+
+        double best = Double.MAX_VALUE;
+        int meeting = NO_NODE;
+        while (!forward.heap.isEmpty() && !backward.heap.isEmpty()) {
+            if (forward.heap.peekKey() + backward.heap.peekKey() >= best) {
+                break;
+            }
+            boolean forwardTurn = forward.heap.peekKey() <= backward.heap.peekKey();
+            SearchScratch side = forwardTurn ? forward : backward;
+            SearchScratch other = forwardTurn ? backward : forward;
+
+            int current = side.heap.poll();
+            side.settle(current);
+            double currentCost = side.costs[current];
+            for (int edge = adjacency.offsets[current]; edge < adjacency.offsets[current + 1]; edge++) {
+                int neighbor = adjacency.targets[edge];
+                if (side.isSettled(neighbor)) {
+                    continue;
+                }
+                double newCost = currentCost + adjacency.cost(edge, byTime);
+                if (!side.isReached(neighbor) || newCost < side.costs[neighbor]) {
+                    side.reach(neighbor, newCost, current, edge);
+                    side.heap.insertOrDecrease(neighbor, newCost);
+                    if (other.isReached(neighbor) && newCost + other.costs[neighbor] < best) {
+                        best = newCost + other.costs[neighbor];
+                        meeting = neighbor;
+                    }
+                }
+            }
+        }
+        if (meeting == NO_NODE) {
+            return Collections.emptyList();
+        }
+
+        List<String> result = graph.buildPath(adjacency, start, meeting, forward.previousNode, forward.previousArc);
+        for (int node = meeting; node != end; node = backward.previousNode[node]) {
+            result.add(graph.getRoadName(adjacency, backward.previousArc[node]));
+            result.add(graph.getNodeName(backward.previousNode[node]));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,658 @@
+package com.example.core.domain;
+
+import com.example.core.exceptions.UnknownTownException;
+import com.example.core.exceptions.UnreachableDestinationException;
+import com.example.core.port.IportMetrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Forme figée et compacte d'une {@link GraphMap} : les villes sont numérotées de 0 à n-1
+ * et les routes sont rangées en CSR (compressed sparse row). Les arcs sortants du nœud
+ * {@code v} occupent les indices {@code offsets[v]} à {@code offsets[v + 1] - 1}.
+ */
+public final class CompactGraph {
+    private static final int NO_NODE = -1;
+
+    private final String[] nodeNames;
+    private final Map<String, Integer> nodeIds;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+    private final float[] speeds;
+    private final boolean[] closed;
+    private final int[] travelTimes;
+    private final int[] roads;
+    private final String[] roadNames;
+    private final boolean[] autoroutes;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final float maxSpeed;
+    private final Map<RoadProfile, Adjacency> adjacencies;
+    private final ThreadLocal<SearchScratch> scratch;
+    private final Map<List<Object>, ContractionHierarchy> hierarchies = new ConcurrentHashMap<>();
+    private volatile Landmarks landmarks;
+
+    private CompactGraph(String[] nodeNames, Map<String, Integer> nodeIds, int[] offsets, int[] targets,
+                         int[] weights, float[] speeds, boolean[] closed, int[] roads, String[] roadNames,
+                         boolean[] autoroutes, double[] latitudes, double[] longitudes,
+                         ThreadLocal<SearchScratch> scratch) {
+        this.nodeNames = nodeNames;
+        this.nodeIds = nodeIds;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.speeds = speeds;
+        this.closed = closed;
+        this.travelTimes = new int[speeds.length];
+        for (int arc = 0; arc < speeds.length; arc++) {
+            travelTimes[arc] = Edge.travelTime(weights[arc], speeds[arc]);
+        }
+        this.roads = roads;
+        this.roadNames = roadNames;
+        this.autoroutes = autoroutes;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        float fastest = 0;
+        for (int arc = 0; arc < speeds.length; arc++) {
+            if (!isArcClosed(arc)) {
+                fastest = Math.max(fastest, speeds[arc]);
+            }
+        }
+        this.maxSpeed = fastest;
+        this.adjacencies = new ConcurrentHashMap<>();
+        this.scratch = scratch;
+    }
+
+    /**
+     * Construit le graphe puis compile les profils « toutes routes » et « sans autoroutes », une fois
+     * l'objet entièrement initialisé.
+     *
+     * @param scratch tampons de recherche par thread ; ceux d'un graphe de mêmes villes peuvent être repris,
+     *                ils ne dépendent que du nombre de villes
+     */
+    private static CompactGraph compile(String[] nodeNames, Map<String, Integer> nodeIds, int[] offsets,
+                                        int[] targets, int[] weights, float[] speeds, boolean[] closed, int[] roads,
+                                        String[] roadNames, boolean[] autoroutes, double[] latitudes,
+                                        double[] longitudes, ThreadLocal<SearchScratch> scratch) {
+        CompactGraph graph = new CompactGraph(nodeNames, nodeIds, offsets, targets, weights, speeds, closed, roads,
+                roadNames, autoroutes, latitudes, longitudes, scratch);
+        graph.prepareProfile(RoadProfile.ALL_ROADS);
+        graph.prepareProfile(RoadProfile.SANS_AUTOROUTES);
+        return graph;
+    }
+
+    private static ThreadLocal<SearchScratch> newScratch(int numNodes) {
+        return ThreadLocal.withInitial(() -> new SearchScratch(numNodes));
+    }
+
+    private CompactGraph(CompactGraph base, double[] latitudes, double[] longitudes) {
+        this.nodeNames = base.nodeNames;
+        this.nodeIds = base.nodeIds;
+        this.offsets = base.offsets;
+        this.targets = base.targets;
+        this.weights = base.weights;
+        this.speeds = base.speeds;
+        this.closed = base.closed;
+        this.travelTimes = base.travelTimes;
+        this.roads = base.roads;
+        this.roadNames = base.roadNames;
+        this.autoroutes = base.autoroutes;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.maxSpeed = base.maxSpeed;
+        this.adjacencies = base.adjacencies;
+        this.landmarks = base.landmarks;
+        this.scratch = base.scratch;
+    }
+
+    /**
+     * Reconstruit un graphe à partir de tableaux déjà au format CSR (par exemple lus depuis un fichier binaire).
+     * Les tableaux ne sont pas copiés et ne doivent plus être modifiés.
+     */
+    public static CompactGraph fromArrays(String[] nodeNames, int[] offsets, int[] targets, int[] weights,
+                                          float[] speeds, int[] roads, String[] roadNames, boolean[] autoroutes) {
+        if (offsets.length != nodeNames.length + 1 || offsets[nodeNames.length] != targets.length
+                || weights.length != targets.length || speeds.length != targets.length
+                || roads.length != targets.length || autoroutes.length != roadNames.length) {
+            throw new IllegalArgumentException("Inconsistent CSR arrays");
+        }
+        Map<String, Integer> nodeIds = new HashMap<>(nodeNames.length * 2);
+        for (int node = 0; node < nodeNames.length; node++) {
+            nodeIds.put(nodeNames[node], node);
+        }
+        return compile(nodeNames, nodeIds, offsets, targets, weights, speeds, null, roads, roadNames, autoroutes,
+                null, null, newScratch(nodeNames.length));
+    }
+
+    /**
+     * @param latitudes  latitude de chaque ville en degrés, {@code NaN} si inconnue
+     * @param longitudes longitude de chaque ville en degrés, {@code NaN} si inconnue
+     * @return le même graphe (tableaux partagés) avec les coordonnées utilisées par l'heuristique A*
+     */
+    public CompactGraph withCoordinates(double[] latitudes, double[] longitudes) {
+        if (latitudes.length != nodeNames.length || longitudes.length != nodeNames.length) {
+            throw new IllegalArgumentException("One coordinate per town expected");
+        }
+        return new CompactGraph(this, latitudes, longitudes);
+    }
+
+    /**
+     * Instantané du graphe après application du trafic : la topologie, les noms, les coordonnées et les
+     * tampons de recherche des threads sont partagés, seuls les vitesses, les fermetures et les adjacences
+     * des profils sont recalculés. Le graphe courant n'est pas modifié, les recherches déjà lancées dessus
+     * restent cohérentes. Les routes inconnues de la carte sont ignorées.
+     * <p>
+     * Les profils et les hiérarchies de contraction déjà préparés sur ce graphe sont recalculés pour
+     * l'instantané avant qu'il soit rendu, dans le thread appelant : les requêtes qui suivent ne les
+     * reconstruisent pas. Le coût d'un lot croît donc avec le nombre de hiérarchies préparées.
+     */
+    public CompactGraph withTraffic(TrafficUpdate update) {
+        int numRoads = roadNames.length;
+        float[] roadSpeeds = new float[numRoads];
+        byte[] roadClosures = new byte[numRoads];
+        Arrays.fill(roadSpeeds, Float.NaN);
+        for (int road = 0; road < numRoads; road++) {
+            Float speed = update.getRoadSpeeds().get(roadNames[road]);
+            if (speed != null) {
+                roadSpeeds[road] = speed;
+            }
+            Boolean closure = update.getRoadClosures().get(roadNames[road]);
+            if (closure != null) {
+                roadClosures[road] = (byte) (closure ? 1 : -1);
+            }
+        }
+
+        float[] newSpeeds = speeds.clone();
+        boolean[] newClosed = closed == null ? new boolean[speeds.length] : closed.clone();
+        for (int arc = 0; arc < newSpeeds.length; arc++) {
+            int road = roads[arc];
+            if (!Float.isNaN(roadSpeeds[road])) {
+                newSpeeds[arc] = roadSpeeds[road];
+            }
+            if (roadClosures[road] != 0) {
+                newClosed[arc] = roadClosures[road] > 0;
+            }
+        }
+        for (Map.Entry<Integer, Float> entry : update.getArcSpeeds().entrySet()) {
+            int arc = checkArc(entry.getKey());
+            newSpeeds[arc] = entry.getValue();
+            newSpeeds[reverseArc(arc)] = entry.getValue();
+        }
+        for (Map.Entry<Integer, Boolean> entry : update.getArcClosures().entrySet()) {
+            int arc = checkArc(entry.getKey());
+            newClosed[arc] = entry.getValue();
+            newClosed[reverseArc(arc)] = entry.getValue();
+        }
+        CompactGraph snapshot = compile(nodeNames, nodeIds, offsets, targets, weights, newSpeeds, newClosed,
+                roads, roadNames, autoroutes, latitudes, longitudes, scratch);
+        for (RoadProfile profile : adjacencies.keySet()) {
+            snapshot.prepareProfile(profile);
+        }
+        for (List<Object> key : hierarchies.keySet()) {
+            snapshot.getContractionHierarchy((Metric) key.get(0), (RoadProfile) key.get(1));
+        }
+        // des tables calculées sur des routes plus lentes ou fermées depuis minorent encore les coûts ; après une
+        // réouverture ou une accélération, leurs distances peuvent dépasser les vraies et la borne ne serait plus sûre
+        if (landmarks != null && !isShorterAnywhere(snapshot)) {
+            snapshot.landmarks = landmarks;
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return vrai si un arc ouvert de l'instantané était fermé ici, ou y est plus rapide ; les km ne changent
+     * pas avec le trafic, seule une réouverture peut donc raccourcir un trajet en km
+     */
+    private boolean isShorterAnywhere(CompactGraph snapshot) {
+        for (int arc = 0; arc < travelTimes.length; arc++) {
+            if (!snapshot.isArcClosed(arc) && (isArcClosed(arc) || snapshot.travelTimes[arc] < travelTimes[arc])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int checkArc(int arc) {
+        if (arc < 0 || arc >= targets.length) {
+            throw new IllegalArgumentException("Unknown arc " + arc);
+        }
+        return arc;
+    }
+
+    /**
+     * Arc retour de {@code arc} : même route et même longueur, dans l'autre sens. Les routes étant toujours
+     * ajoutées dans les deux sens, les recherches arrière et les hiérarchies de contraction supposent que
+     * les deux arcs restent identiques.
+     */
+    private int reverseArc(int arc) {
+        int source = 0;
+        int last = nodeNames.length - 1;
+        while (source < last) {
+            int middle = (source + last + 1) >>> 1;
+            if (offsets[middle] <= arc) {
+                source = middle;
+            } else {
+                last = middle - 1;
+            }
+        }
+        int target = targets[arc];
+        for (int candidate = offsets[target]; candidate < offsets[target + 1]; candidate++) {
+            if (targets[candidate] == source && roads[candidate] == roads[arc] && weights[candidate] == weights[arc]) {
+                return candidate;
+            }
+        }
+        return arc;
+    }
+
+    static CompactGraph of(GraphMap graphMap) {
+        int numNodes = graphMap.getNumNodes();
+        String[] nodeNames = new String[numNodes];
+        Map<String, Integer> nodeIds = new HashMap<>(numNodes * 2);
+        for (String node : graphMap.getNodes()) {
+            nodeIds.put(node, nodeIds.size());
+            nodeNames[nodeIds.size() - 1] = node;
+        }
+
+        int numArcs = 0;
+        for (String node : nodeNames) {
+            numArcs += graphMap.getNeighbors(node).size();
+        }
+
+        int[] offsets = new int[numNodes + 1];
+        int[] targets = new int[numArcs];
+        int[] weights = new int[numArcs];
+        float[] speeds = new float[numArcs];
+        int[] roads = new int[numArcs];
+        Map<String, Integer> roadIds = new HashMap<>();
+        List<String> roadNames = new ArrayList<>();
+        List<Boolean> autoroutes = new ArrayList<>();
+
+        int arc = 0;
+        for (int node = 0; node < numNodes; node++) {
+            offsets[node] = arc;
+            for (Edge edge : graphMap.getNeighbors(nodeNames[node])) {
+                Integer road = roadIds.get(edge.getName());
+                if (road == null) {
+                    road = roadNames.size();
+                    roadIds.put(edge.getName(), road);
+                    roadNames.add(edge.getName());
+                    autoroutes.add(edge.isAutoroute());
+                }
+                targets[arc] = nodeIds.get(edge.getDestination());
+                weights[arc] = edge.getWeight();
+                speeds[arc] = (float) edge.getSpeed();
+                roads[arc] = road;
+                arc++;
+            }
+        }
+        offsets[numNodes] = arc;
+
+        boolean[] autorouteFlags = new boolean[autoroutes.size()];
+        for (int i = 0; i < autorouteFlags.length; i++) {
+            autorouteFlags[i] = autoroutes.get(i);
+        }
+
+        double[] latitudes = null;
+        double[] longitudes = null;
+        if (graphMap.hasCoordinates()) {
+            latitudes = new double[numNodes];
+            longitudes = new double[numNodes];
+            for (int node = 0; node < numNodes; node++) {
+                double[] coordinates = graphMap.getCoordinates(nodeNames[node]);
+                latitudes[node] = coordinates == null ? Double.NaN : coordinates[0];
+                longitudes[node] = coordinates == null ? Double.NaN : coordinates[1];
+            }
+        }
+        return compile(nodeNames, nodeIds, offsets, targets, weights, speeds, null, roads,
+                roadNames.toArray(new String[0]), autorouteFlags, latitudes, longitudes, newScratch(numNodes));
+    }
+
+    public int getNumNodes() {
+        return nodeNames.length;
+    }
+
+    public int getNumArcs() {
+        return targets.length;
+    }
+
+    /**
+     * @return l'identifiant de la ville, ou -1 si elle n'existe pas dans la carte
+     */
+    public int getNodeId(String name) {
+        Integer id = nodeIds.get(name);
+        return id == null ? NO_NODE : id;
+    }
+
+    public String getNodeName(int node) {
+        return nodeNames[node];
+    }
+
+    /**
+     * @return l'indice du premier arc sortant de {@code node} ; ses arcs s'arrêtent à {@code getFirstArc(node + 1)}
+     */
+    public int getFirstArc(int node) {
+        return offsets[node];
+    }
+
+    public int getArcTarget(int arc) {
+        return targets[arc];
+    }
+
+    public int getArcWeight(int arc) {
+        return weights[arc];
+    }
+
+    public float getArcSpeed(int arc) {
+        return speeds[arc];
+    }
+
+    /**
+     * @return le temps de parcours de l'arc en dixièmes de minute, voir {@link Edge#travelTime(int, double)}
+     */
+    public int getArcTravelTime(int arc) {
+        return travelTimes[arc];
+    }
+
+    /**
+     * @return vrai si l'arc est fermé par le trafic ; il n'apparaît alors dans aucune recherche
+     */
+    public boolean isArcClosed(int arc) {
+        return closed != null && closed[arc];
+    }
+
+    public int getArcRoad(int arc) {
+        return roads[arc];
+    }
+
+    public int getNumRoads() {
+        return roadNames.length;
+    }
+
+    public String getRoadName(int road) {
+        return roadNames[road];
+    }
+
+    public boolean isAutoroute(int road) {
+        return autoroutes[road];
+    }
+
+    public boolean hasCoordinates() {
+        return latitudes != null;
+    }
+
+    public double getLatitude(int node) {
+        return latitudes == null ? Double.NaN : latitudes[node];
+    }
+
+    public double getLongitude(int node) {
+        return longitudes == null ? Double.NaN : longitudes[node];
+    }
+
+    /**
+     * @return la vitesse la plus élevée de la carte, en km/h
+     */
+    public float getMaxSpeed() {
+        return maxSpeed;
+    }
+
+    /**
+     * Vérification en temps constant, sans recherche : les deux villes existent et les composantes connexes
+     * du profil, calculées avec son adjacence, les relient.
+     *
+     * @throws UnknownTownException            si l'une des villes n'est pas dans la carte
+     * @throws UnreachableDestinationException si aucun chemin ne les relie avec ce profil
+     */
+    public void requireRoute(String start, String end, RoadProfile profile) {
+        int startId = getNodeId(start);
+        if (startId == NO_NODE) {
+            throw new UnknownTownException(start);
+        }
+        int endId = getNodeId(end);
+        if (endId == NO_NODE) {
+            throw new UnknownTownException(end);
+        }
+        if (!adjacency(profile).areConnected(startId, endId)) {
+            throw new UnreachableDestinationException(start, end);
+        }
+    }
+
+    /**
+     * Recherche sans état partagé : tout l'état de la recherche vit dans les tampons du thread
+     * appelant, la même carte peut donc servir plusieurs requêtes en parallèle.
+     *
+     * @return [ville, route, ville, ...], ou une liste vide si aucun chemin n'existe
+     */
+    public List<String> findRoute(String start, String end, RouteOptions options) {
+        return findRoute(start, end, options, IportMetrics.NONE);
+    }
+
+    /**
+     * Même recherche, dont la durée et les compteurs (nœuds traités, coûts améliorés, opérations de tas)
+     * sont transmis à {@code metrics}.
+     */
+    public List<String> findRoute(String start, String end, RouteOptions options, IportMetrics metrics) {
+        if (metrics == IportMetrics.NONE) {
+            return search(start, end, options);
+        }
+        SearchScratch counted = options.getAlgorithm() == Algorithm.CONTRACTION_HIERARCHY
+                ? getContractionHierarchy(options.getMetric(), options.getProfile()).scratch()
+                : scratch.get();
+        long settled = counted.settledCount();
+        long reached = counted.reachedCount();
+        long heapOperations = counted.heapOperations();
+        long begin = System.nanoTime();
+        List<String> route = search(start, end, options);
+        metrics.routeSearched(options, System.nanoTime() - begin, counted.settledCount() - settled,
+                counted.reachedCount() - reached, counted.heapOperations() - heapOperations);
+        return route;
+    }
+
+    private List<String> search(String start, String end, RouteOptions options) {
+        int startId = getNodeId(start);
+        int endId = getNodeId(end);
+        if (startId == NO_NODE || endId == NO_NODE || !adjacency(options.getProfile()).areConnected(startId, endId)) {
+            return Collections.emptyList();
+        }
+        SearchScratch search = scratch.get();
+        switch (options.getAlgorithm()) {
+            case BIDIRECTIONAL:
+                return BidirectionalDijkstra.findRoute(this, search, startId, endId, options);
+            case CONTRACTION_HIERARCHY:
+                return getContractionHierarchy(options.getMetric(), options.getProfile()).findRoute(startId, endId);
+            case ASTAR:
+                return AStar.findRoute(this, search, startId, endId, options,
+                        new GreatCircleLowerBound(this, endId, options.getMetric()));
+            case LANDMARKS:
+                return AStar.findRoute(this, search, startId, endId, options,
+                        getLandmarks().lowerBound(startId, endId, options.getMetric()));
+            default:
+                return dijkstra(search, startId, endId, options);
+        }
+    }
+
+    /**
+     * Toutes les villes atteignables depuis l'une des origines en au plus {@code limit} km, ou minutes pour
+     * le critère temps, transmises au fur et à mesure à {@code listener} par coût croissant. Les origines
+     * inconnues sont ignorées ; l'algorithme des options est ignoré.
+     */
+    public void findReachable(Collection<String> origins, RouteOptions options, double limit,
+                              ReachableTownListener listener) {
+        Reachability.search(this, scratch.get(), origins, options, limit, listener);
+    }
+
+    /**
+     * Jusqu'à {@code count} itinéraires distincts, le meilleur en premier, chacun coûtant au plus 50 % de plus
+     * que le meilleur selon le critère demandé. L'algorithme des options est ignoré.
+     *
+     * @return une liste vide si l'une des villes est inconnue ou si aucun chemin n'existe
+     */
+    public List<Route> findAlternatives(String start, String end, RouteOptions options, int count) {
+        int startId = getNodeId(start);
+        int endId = getNodeId(end);
+        if (startId == NO_NODE || endId == NO_NODE || !adjacency(options.getProfile()).areConnected(startId, endId)) {
+            return Collections.emptyList();
+        }
+        return AlternativeRoutes.find(this, scratch.get(), startId, endId, options, count);
+    }
+
+    /**
+     * Matrice de trajets : un arbre de recherche par origine, les origines étant réparties sur les
+     * threads du pool fork-join courant (le pool commun hors d'un pool). Une ville inconnue donne une ligne
+     * ou une colonne inatteignable.
+     *
+     * @param withPaths garder aussi le chemin [ville, route, ville, ...] de chaque case
+     */
+    public TravelMatrix computeMatrix(List<String> origins, List<String> destinations, RouteOptions options,
+                                      boolean withPaths) {
+        return computeMatrix(origins, destinations, options, withPaths, () -> false);
+    }
+
+    /**
+     * Même matrice, dont les origines pas encore commencées sont abandonnées dès que {@code cancelled}
+     * devient vrai.
+     *
+     * @throws CancellationException si des origines ont été abandonnées
+     */
+    public TravelMatrix computeMatrix(List<String> origins, List<String> destinations, RouteOptions options,
+                                      boolean withPaths, BooleanSupplier cancelled) {
+        return OneToMany.computeMatrix(this, List.copyOf(origins), List.copyOf(destinations), options, withPaths,
+                cancelled);
+    }
+
+    /**
+     * Exécute {@code action} pour chaque indice de 0 à {@code count - 1} en parallèle, avec les tampons
+     * de recherche du thread qui traite l'indice.
+     */
+    void forEachOrigin(int count, ObjIntConsumer<SearchScratch> action) {
+        IntStream.range(0, count).parallel().forEach(row -> action.accept(scratch.get(), row));
+    }
+
+    private List<String> dijkstra(SearchScratch search, int startId, int endId, RouteOptions options) {
+        Adjacency adjacency = adjacency(options.getProfile());
+        boolean byTime = options.getMetric() == Metric.TIME;
+        IndexedMinHeap heap = search.heap;
+
+        search.begin();
+        search.reach(startId, 0., NO_NODE, NO_NODE);
+        heap.insertOrDecrease(startId, 0.);
+
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            search.settle(current);
+            if (current == endId) {
+                break;
+            }
+            double currentCost = search.costs[current];
+            for (int edge = adjacency.offsets[current]; edge < adjacency.offsets[current + 1]; edge++) {
+                int neighbor = adjacency.targets[edge];
+                if (search.isSettled(neighbor)) {
+                    continue;
+                }
+                double newCost = currentCost + adjacency.cost(edge, byTime);
+                if (!search.isReached(neighbor) || newCost < search.costs[neighbor]) {
+                    search.reach(neighbor, newCost, current, edge);
+                    heap.insertOrDecrease(neighbor, newCost);
+                }
+            }
+        }
+        return search.isSettled(endId)
+                ? buildPath(adjacency, startId, endId, search.previousNode, search.previousArc)
+                : Collections.emptyList();
+    }
+
+    /**
+     * Hiérarchie de contraction du critère et du profil demandés, construite au premier appel
+     * puis gardée avec ce graphe.
+     */
+    public ContractionHierarchy getContractionHierarchy(Metric metric, RoadProfile profile) {
+        return hierarchies.computeIfAbsent(List.of(metric, profile),
+                key -> ContractionHierarchy.build(this, metric, profile));
+    }
+
+    public boolean hasContractionHierarchy(Metric metric, RoadProfile profile) {
+        return hierarchies.containsKey(List.of(metric, profile));
+    }
+
+    public ContractionHierarchy getContractionHierarchy(Metric metric, boolean sansAutoroutes) {
+        return getContractionHierarchy(metric, RoadProfile.of(sansAutoroutes));
+    }
+
+    /**
+     * Tables de repères de {@link Algorithm#LANDMARKS}, calculées au premier appel avec
+     * {@link Landmarks#DEFAULT_COUNT} repères si aucune n'a été fournie par {@link #useLandmarks}.
+     */
+    public Landmarks getLandmarks() {
+        Landmarks current = landmarks;
+        if (current == null) {
+            synchronized (this) {
+                current = landmarks;
+                if (current == null) {
+                    current = Landmarks.select(this, Landmarks.DEFAULT_COUNT);
+                    landmarks = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public boolean hasLandmarks() {
+        return landmarks != null;
+    }
+
+    /**
+     * Installe des tables déjà calculées pour ce graphe, par exemple relues à côté de la carte.
+     */
+    public void useLandmarks(Landmarks precomputed) {
+        if (precomputed.getCount() > 0 && precomputed.getNumNodes() != nodeNames.length) {
+            throw new IllegalArgumentException("Landmarks computed for another map");
+        }
+        landmarks = precomputed;
+    }
+
+    /**
+     * Compile le profil en une adjacence dédiée, partagée ensuite par toutes les requêtes de ce profil.
+     * Les profils « toutes routes » et « sans autoroutes » sont compilés dès la construction du graphe ;
+     * un autre profil l'est au plus tard à sa première requête.
+     */
+    public void prepareProfile(RoadProfile profile) {
+        adjacency(profile);
+    }
+
+    Adjacency adjacency(RoadProfile profile) {
+        Adjacency adjacency = adjacencies.get(profile);
+        return adjacency != null ? adjacency : adjacencies.computeIfAbsent(profile, p -> Adjacency.of(this, p));
+    }
+
+    /**
+     * Nom de la route empruntée par l'arc {@code edge} d'une adjacence.
+     */
+    String getRoadName(Adjacency adjacency, int edge) {
+        return roadNames[roads[adjacency.arcs[edge]]];
+    }
+
+    /**
+     * @param previousEdge arc d'arrivée de chaque nœud, indice dans {@code adjacency}
+     */
+    List<String> buildPath(Adjacency adjacency, int start, int end, int[] previousNode, int[] previousEdge) {
+        List<String> result = new ArrayList<>();
+        for (int node = end; node != start; node = previousNode[node]) {
+            result.add(nodeNames[node]);
+            result.add(getRoadName(adjacency, previousEdge[node]));
+        }
+        result.add(nodeNames[start]);
+        Collections.reverse(result);
+        return result;
+    }
+}
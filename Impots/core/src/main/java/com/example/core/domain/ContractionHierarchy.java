@@ -0,0 +1,433 @@
+package com.example.core.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Hiérarchie de contraction pour un critère et un profil de restriction donnés.
+ * <p>
+ * Le prétraitement contracte les villes une à une, de la moins importante à la plus importante, en
+ * ajoutant un raccourci entre deux voisins chaque fois que le seul plus court chemin entre eux passait
+ * par la ville contractée. Une requête n'explore ensuite que les arêtes « montantes » (vers une ville
+ * de rang supérieur) depuis le départ et depuis l'arrivée, puis déplie les raccourcis pour retrouver
+ * les routes réellement empruntées.
+ */
+public final class ContractionHierarchy {
+    private static final int NO_NODE = -1;
+    private static final int SHORTCUT = -1;
+
+    private final CompactGraph graph;
+    private final int[] ranks;
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final double[] edgeWeights;
+    private final int[] edgeRoads;
+    private final int[] edgeMiddles;
+    private final int[] edgeFirsts;
+    private final int[] edgeSeconds;
+    private final int[] upOffsets;
+    private final int[] upEdges;
+    private final int numShortcuts;
+    private final ThreadLocal<SearchScratch> scratch;
+
+    private ContractionHierarchy(CompactGraph graph, int[] ranks, Edges edges) {
+        this.graph = graph;
+        this.ranks = ranks;
+        this.edgeFrom = Arrays.copyOf(edges.from, edges.size);
+        this.edgeTo = Arrays.copyOf(edges.to, edges.size);
+        this.edgeWeights = Arrays.copyOf(edges.weights, edges.size);
+        this.edgeRoads = Arrays.copyOf(edges.roads, edges.size);
+        this.edgeMiddles = Arrays.copyOf(edges.middles, edges.size);
+        this.edgeFirsts = Arrays.copyOf(edges.firsts, edges.size);
+        this.edgeSeconds = Arrays.copyOf(edges.seconds, edges.size);
+
+        int numNodes = graph.getNumNodes();
+        upOffsets = new int[numNodes + 1];
+        for (int edge = 0; edge < edges.size; edge++) {
+            upOffsets[lower(edge) + 1]++;
+        }
+        for (int node = 0; node < numNodes; node++) {
+            upOffsets[node + 1] += upOffsets[node];
+        }
+        upEdges = new int[edges.size];
+        int[] next = Arrays.copyOf(upOffsets, numNodes);
+        int shortcuts = 0;
+        for (int edge = 0; edge < edges.size; edge++) {
+            upEdges[next[lower(edge)]++] = edge;
+            if (edgeRoads[edge] == SHORTCUT) {
+                shortcuts++;
+            }
+        }
+        this.numShortcuts = shortcuts;
+        this.scratch = ThreadLocal.withInitial(() -> new SearchScratch(numNodes));
+    }
+
+    /**
+     * Prétraitement complet ; à faire une fois par carte chargée, hors du chemin des requêtes.
+     */
+    public static ContractionHierarchy build(CompactGraph graph, Metric metric, RoadProfile profile) {
+        return new Contractor(graph, metric == Metric.TIME, profile).contract();
+    }
+
+    public int getNumShortcuts() {
+        return numShortcuts;
+    }
+
+    public int getRank(int node) {
+        return ranks[node];
+    }
+
+    /**
+     * Tampons de recherche du thread appelant, pour lire leurs compteurs.
+     */
+    SearchScratch scratch() {
+        return scratch.get();
+    }
+
+    /**
+     * @return [ville, route, ville, ...], ou une liste vide si aucun chemin n'existe
+     */
+    public List<String> findRoute(int start, int end) {
+        if (start == end) {
+            return Collections.singletonList(graph.getNodeName(start));
+        }
+        SearchScratch forward = scratch.get();
+        SearchScratch backward = forward.backward();
+        forward.begin();
+        backward.begin();
+        forward.reach(start, 0., NO_NODE, NO_NODE);
+        forward.heap.insertOrDecrease(start, 0.);
+        backward.reach(end, 0., NO_NODE, NO_NODE);
+        backward.heap.insertOrDecrease(end, 0.);
+
+        double best = Double.MAX_VALUE;
+        int meeting = NO_NODE;
+        while (true) {
+            boolean forwardOpen = !forward.heap.isEmpty() && forward.heap.peekKey() < best;
+            boolean backwardOpen = !backward.heap.isEmpty() && backward.heap.peekKey() < best;
+            if (!forwardOpen && !backwardOpen) {
+                break;
+            }
+            boolean forwardTurn = forwardOpen && (!backwardOpen || forward.heap.peekKey() <= backward.heap.peekKey());
+            SearchScratch side = forwardTurn ? forward : backward;
+            SearchScratch other = forwardTurn ? backward : forward;
+
+            int current = side.heap.poll();
+            side.settle(current);
+            double currentCost = side.costs[current];
+            if (other.isReached(current) && currentCost + other.costs[current] < best) {
+                best = currentCost + other.costs[current];
+                meeting = current;
+            }
+            for (int i = upOffsets[current]; i < upOffsets[current + 1]; i++) {
+                int edge = upEdges[i];
+                int neighbor = otherEnd(edge, current);
+                double newCost = currentCost + edgeWeights[edge];
+                if (!side.isReached(neighbor) || newCost < side.costs[neighbor]) {
+                    side.reach(neighbor, newCost, current, edge);
+                    side.heap.insertOrDecrease(neighbor, newCost);
+                }
+            }
+        }
+        if (meeting == NO_NODE) {
+            return Collections.emptyList();
+        }
+
+        List<Integer> forwardEdges = new ArrayList<>();
+        for (int node = meeting; node != start; node = forward.previousNode[node]) {
+            forwardEdges.add(forward.previousArc[node]);
+        }
+        List<String> result = new ArrayList<>();
+        result.add(graph.getNodeName(start));
+        int node = start;
+        for (int i = forwardEdges.size() - 1; i >= 0; i--) {
+            int edge = forwardEdges.get(i);
+            unpack(edge, node, result);
+            node = otherEnd(edge, node);
+        }
+        for (node = meeting; node != end; node = backward.previousNode[node]) {
+            unpack(backward.previousArc[node], node, result);
+        }
+        return result;
+    }
+
+    /**
+     * Ajoute à {@code result} les routes et villes de l'arête (raccourci ou route réelle) parcourue depuis {@code from}.
+     */
+    private void unpack(int edge, int from, List<String> result) {
+        if (edgeRoads[edge] != SHORTCUT) {
+            result.add(graph.getRoadName(edgeRoads[edge]));
+            result.add(graph.getNodeName(otherEnd(edge, from)));
+            return;
+        }
+        int first = edgeFirsts[edge];
+        int second = edgeSeconds[edge];
+        if (edgeFrom[first] == from || edgeTo[first] == from) {
+            unpack(first, from, result);
+            unpack(second, edgeMiddles[edge], result);
+        } else {
+            unpack(second, from, result);
+            unpack(first, edgeMiddles[edge], result);
+        }
+    }
+
+    private int otherEnd(int edge, int node) {
+        return edgeFrom[edge] == node ? edgeTo[edge] : edgeFrom[edge];
+    }
+
+    private int lower(int edge) {
+        return ranks[edgeFrom[edge]] < ranks[edgeTo[edge]] ? edgeFrom[edge] : edgeTo[edge];
+    }
+
+    /**
+     * Arêtes non orientées du graphe en cours de contraction : routes réelles puis raccourcis.
+     */
+    private static final class Edges {
+        private int[] from = new int[16];
+        private int[] to = new int[16];
+        private double[] weights = new double[16];
+        private int[] roads = new int[16];
+        private int[] middles = new int[16];
+        private int[] firsts = new int[16];
+        private int[] seconds = new int[16];
+        private int size;
+
+        int add(int a, int b, double weight, int road, int middle, int first, int second) {
+            if (size == from.length) {
+                int capacity = size * 2;
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+                roads = Arrays.copyOf(roads, capacity);
+                middles = Arrays.copyOf(middles, capacity);
+                firsts = Arrays.copyOf(firsts, capacity);
+                seconds = Arrays.copyOf(seconds, capacity);
+            }
+            from[size] = a;
+            to[size] = b;
+            weights[size] = weight;
+            roads[size] = road;
+            middles[size] = middle;
+            firsts[size] = first;
+            seconds[size] = second;
+            return size++;
+        }
+
+        int otherEnd(int edge, int node) {
+            return from[edge] == node ? to[edge] : from[edge];
+        }
+    }
+
+    /**
+     * Prétraitement : ordre de contraction par différence d'arêtes (raccourcis ajoutés moins arêtes
+     * supprimées), nombre de voisins déjà contractés et profondeur dans la hiérarchie, avec mise à jour
+     * paresseuse des priorités.
+     */
+    private static final class Contractor {
+        private static final int WITNESS_SETTLE_LIMIT = 500;
+        private static final int SIMULATION_SETTLE_LIMIT = 50;
+
+        private final CompactGraph graph;
+        private final int numNodes;
+        private final Edges edges = new Edges();
+        private final int[][] incident;
+        private final int[] degrees;
+        private final boolean[] contracted;
+        private final int[] contractedNeighbors;
+        private final int[] levels;
+
+        private final int[] neighbors;
+        private final int[] neighborEdges;
+        private final int[] neighborSlot;
+        private final SearchScratch witness;
+        private final int[] targetStamps;
+
+        Contractor(CompactGraph graph, boolean byTime, RoadProfile profile) {
+            this.graph = graph;
+            this.numNodes = graph.getNumNodes();
+            this.incident = new int[numNodes][];
+            this.degrees = new int[numNodes];
+            this.contracted = new boolean[numNodes];
+            this.contractedNeighbors = new int[numNodes];
+            this.levels = new int[numNodes];
+            this.neighbors = new int[numNodes];
+            this.neighborEdges = new int[numNodes];
+            this.neighborSlot = new int[numNodes];
+            this.witness = new SearchScratch(numNodes);
+            this.targetStamps = new int[numNodes];
+            Arrays.fill(neighborSlot, -1);
+
+            for (int node = 0; node < numNodes; node++) {
+                incident[node] = new int[4];
+            }
+            Adjacency adjacency = graph.adjacency(profile);
+            for (int node = 0; node < numNodes; node++) {
+                for (int edge = adjacency.offsets[node]; edge < adjacency.offsets[node + 1]; edge++) {
+                    int target = adjacency.targets[edge];
+                    if (target > node) {
+                        addEdge(node, target, adjacency.cost(edge, byTime), graph.getArcRoad(adjacency.arcs[edge]),
+                                NO_NODE, -1, -1);
+                    }
+                }
+            }
+        }
+
+        ContractionHierarchy contract() {
+            IndexedMinHeap order = new IndexedMinHeap(numNodes);
+            for (int node = 0; node < numNodes; node++) {
+                order.insertOrDecrease(node, priority(node));
+            }
+            int[] ranks = new int[numNodes];
+            int nextRank = 0;
+            while (!order.isEmpty()) {
+                int node = order.poll();
+                double priority = priority(node);
+                if (!order.isEmpty() && priority > order.peekKey()) {
+                    order.insertOrDecrease(node, priority);
+                    continue;
+                }
+                ranks[node] = nextRank++;
+                int count = collectNeighbors(node);
+                int[] around = Arrays.copyOf(neighbors, count);
+                processShortcuts(node, count, true);
+                contracted[node] = true;
+                for (int neighbor : around) {
+                    contractedNeighbors[neighbor]++;
+                    levels[neighbor] = Math.max(levels[neighbor], levels[node] + 1);
+                }
+                for (int neighbor : around) {
+                    order.update(neighbor, priority(neighbor));
+                }
+            }
+            return new ContractionHierarchy(graph, ranks, edges);
+        }
+
+        private double priority(int node) {
+            int count = collectNeighbors(node);
+            int shortcuts = processShortcuts(node, count, false);
+            return 2 * (shortcuts - count) + contractedNeighbors[node] + levels[node];
+        }
+
+        /**
+         * Range dans {@code neighbors} les voisins non contractés de {@code node}, chacun avec l'arête la plus courte.
+         */
+        private int collectNeighbors(int node) {
+            int count = 0;
+            for (int i = 0; i < degrees[node]; i++) {
+                int edge = incident[node][i];
+                int neighbor = edges.otherEnd(edge, node);
+                if (neighbor == node || contracted[neighbor]) {
+                    continue;
+                }
+                int slot = neighborSlot[neighbor];
+                if (slot < 0) {
+                    neighborSlot[neighbor] = count;
+                    neighbors[count] = neighbor;
+                    neighborEdges[count] = edge;
+                    count++;
+                } else if (edges.weights[edge] < edges.weights[neighborEdges[slot]]) {
+                    neighborEdges[slot] = edge;
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                neighborSlot[neighbors[i]] = -1;
+            }
+            return count;
+        }
+
+        /**
+         * Compte (et ajoute si {@code apply}) les raccourcis nécessaires pour contracter {@code node}.
+         * Les tableaux {@code neighbors}/{@code neighborEdges} doivent venir de {@link #collectNeighbors} ;
+         * les raccourcis ne sont ajoutés qu'à la fin pour qu'aucune recherche de témoin ne les emprunte.
+         */
+        private int processShortcuts(int node, int count, boolean apply) {
+            int shortcuts = 0;
+            List<int[]> pairs = new ArrayList<>();
+            int[] candidates = Arrays.copyOf(neighbors, count);
+            int[] candidateEdges = Arrays.copyOf(neighborEdges, count);
+            double maxOut = 0;
+            for (int i = 0; i < count; i++) {
+                maxOut = Math.max(maxOut, edges.weights[candidateEdges[i]]);
+            }
+            for (int i = 0; i < count; i++) {
+                int source = candidates[i];
+                double toNode = edges.weights[candidateEdges[i]];
+                witnessSearch(source, node, toNode + maxOut, candidates, i + 1, count,
+                        apply ? WITNESS_SETTLE_LIMIT : SIMULATION_SETTLE_LIMIT);
+                for (int j = i + 1; j < count; j++) {
+                    int target = candidates[j];
+                    double viaNode = toNode + edges.weights[candidateEdges[j]];
+                    if (witness.isReached(target) && witness.costs[target] <= viaNode) {
+                        continue;
+                    }
+                    shortcuts++;
+                    if (apply) {
+                        pairs.add(new int[]{i, j});
+                    }
+                }
+            }
+            for (int[] pair : pairs) {
+                int first = candidateEdges[pair[0]];
+                int second = candidateEdges[pair[1]];
+                addEdge(candidates[pair[0]], candidates[pair[1]], edges.weights[first] + edges.weights[second],
+                        SHORTCUT, node, first, second);
+            }
+            return shortcuts;
+        }
+
+        /**
+         * Dijkstra local depuis {@code source} sans passer par {@code excluded}, limité en coût et en nœuds
+         * traités, et arrêté dès que toutes les cibles {@code targets[from..to)} sont traitées.
+         */
+        private void witnessSearch(int source, int excluded, double maxCost, int[] targets, int from, int to,
+                                   int settleLimit) {
+            IndexedMinHeap heap = witness.heap;
+            int stamp = witness.begin();
+            for (int i = from; i < to; i++) {
+                targetStamps[targets[i]] = stamp;
+            }
+            int remainingTargets = to - from;
+            witness.reach(source, 0., NO_NODE, NO_NODE);
+            heap.insertOrDecrease(source, 0.);
+            int settled = 0;
+            while (!heap.isEmpty() && remainingTargets > 0 && settled++ < settleLimit) {
+                if (heap.peekKey() > maxCost) {
+                    break;
+                }
+                int current = heap.poll();
+                witness.settle(current);
+                if (targetStamps[current] == stamp) {
+                    remainingTargets--;
+                }
+                double currentCost = witness.costs[current];
+                for (int i = 0; i < degrees[current]; i++) {
+                    int edge = incident[current][i];
+                    int neighbor = edges.otherEnd(edge, current);
+                    if (neighbor == excluded || contracted[neighbor] || witness.isSettled(neighbor)) {
+                        continue;
+                    }
+                    double newCost = currentCost + edges.weights[edge];
+                    if (!witness.isReached(neighbor) || newCost < witness.costs[neighbor]) {
+                        witness.reach(neighbor, newCost, current, edge);
+                        heap.insertOrDecrease(neighbor, newCost);
+                    }
+                }
+            }
+        }
+
+        private void addEdge(int a, int b, double weight, int road, int middle, int first, int second) {
+            int edge = edges.add(a, b, weight, road, middle, first, second);
+            attach(a, edge);
+            attach(b, edge);
+        }
+
+        private void attach(int node, int edge) {
+            if (degrees[node] == incident[node].length) {
+                incident[node] = Arrays.copyOf(incident[node], degrees[node] * 2);
+            }
+            incident[node][degrees[node]++] = edge;
+        }
+    }
+}
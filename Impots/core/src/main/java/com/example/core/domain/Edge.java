@@ -5,6 +5,8 @@ public class Edge {
     private int weight;
     private double speed;
     private String name;
+    private int travelTime;
+    private boolean autoroute;
 
 
 
@@ -13,6 +15,38 @@ public class Edge {
         this.weight = weight;
         this.name = name;
         this.speed=speed;
+        this.travelTime = travelTime(weight, speed);
+        this.autoroute = isAutorouteName(name);
+    }
+
+    /**
+     * Une route est une autoroute si son nom est un « A » suivi d'un numéro (A9, A75, A 61…).
+     * Les autres noms contenant un « A » (RN, RD, D, voies nommées…) ne le sont pas.
+     */
+    public static boolean isAutorouteName(String name) {
+        if (name == null) {
+            return false;
+        }
+        String trimmed = name.trim();
+        if (trimmed.length() < 2 || (trimmed.charAt(0) != 'A' && trimmed.charAt(0) != 'a')) {
+            return false;
+        }
+        int digit = trimmed.charAt(1) == ' ' ? 2 : 1;
+        return digit < trimmed.length() && Character.isDigit(trimmed.charAt(digit));
+    }
+
+    /**
+     * Temps de parcours en dixièmes de minute : {@code km * 600 / vitesse} arrondi une seule fois, par arc,
+     * au dixième le plus proche (demi-dixième arrondi vers le haut). Le temps d'un chemin est la somme exacte
+     * de ces entiers. Une vitesse nulle donne un coût de {@link Integer#MAX_VALUE} : la route reste
+     * franchissable et n'est évitée que s'il existe un autre chemin ; pour l'interdire, il faut la fermer
+     * (voir {@link TrafficUpdate}).
+     */
+    public static int travelTime(int weight, double speed) {
+        if (speed <= 0) {
+            return Integer.MAX_VALUE;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, Math.round(weight * 600 / speed));
     }
 
 
@@ -28,11 +62,18 @@ public class Edge {
         return weight;
     }
 
+    /**
+     * @return le temps de parcours en dixièmes de minute
+     */
+    public int getTravelTime() {
+        return travelTime;
+    }
+
     public String getName() {
         return name;
     }
 
     public boolean isAutoroute(){
-        return name.contains("A");
+        return autoroute;
     }
 }
\ No newline at end of file
@@ -1,11 +1,12 @@
 package com.example.core.domain;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import com.example.core.port.IportMetrics;
+
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.*;
+import java.util.function.BooleanSupplier;
 
 public class GraphMap {
 
@@ -15,13 +16,32 @@ public class GraphMap {
     private final int INFINITY = Integer.MAX_VALUE;
     private String endNode;
     private String startNode;
+    private volatile CompactGraph compact;
+    private int numEdges;
+    private final Map<String, double[]> coordinates = new HashMap<>();
 
     public GraphMap() {
-        nodes = new HashSet<>();
-        adjacencyList = new HashMap<>();
+        nodes = new LinkedHashSet<>();
+        adjacencyList = new LinkedHashMap<>();
+    }
+
+    private GraphMap(CompactGraph compact) {
+        this.compact = compact;
+        this.numEdges = compact.getNumArcs() / 2;
+    }
+
+    /**
+     * Carte déjà figée (par exemple chargée depuis un fichier binaire) : les listes d'adjacence
+     * ne sont reconstruites que si l'on appelle {@link #getNeighbors}, {@link #getNodes} ou {@link #addEdge}.
+     */
+    public static GraphMap of(CompactGraph compact) {
+        return new GraphMap(compact);
     }
 
     public void addEdge(String source, String destination, int weight, int speed, String name) {
+        expand();
+        compact = null;
+        numEdges++;
         nodes.add(source);
         nodes.add(destination);
 
@@ -32,146 +52,232 @@ public class GraphMap {
 
 
     public List<Edge> getNeighbors(String node) {
+        expand();
         return adjacencyList.getOrDefault(node, new ArrayList<>());
     }
 
     public Set<String> getNodes() {
+        expand();
         return nodes;
     }
 
     public Integer getNumNodes() {
-        return nodes.size();
+        CompactGraph frozen = compact;
+        return nodes == null && frozen != null ? frozen.getNumNodes() : getNodes().size();
     }
 
+    public int getNumEdges() {
+        return numEdges;
+    }
 
+    /**
+     * Coordonnées facultatives d'une ville, utilisées comme heuristique par {@link Algorithm#ASTAR}.
+     */
+    public void setCoordinates(String town, double latitude, double longitude) {
+        expand();
+        compact = null;
+        coordinates.put(town, new double[]{latitude, longitude});
+    }
 
+    /**
+     * @return {latitude, longitude} en degrés, ou null si la ville n'a pas de coordonnées
+     */
+    public double[] getCoordinates(String town) {
+        expand();
+        return coordinates.get(town);
+    }
 
+    public boolean hasCoordinates() {
+        CompactGraph frozen = compact;
+        return nodes == null && frozen != null ? frozen.hasCoordinates() : !coordinates.isEmpty();
+    }
 
-    public List<String> getShortestTrajectory(boolean sansAutoroute) {
-        Map<String, Integer> distances = new HashMap<>();
-        Map<String, Boolean> visited = new HashMap<>();
-        Map<String, String> previousNode = new HashMap<>();
-        Map<String, String> previousRoad = new HashMap<>();
-
-        for (String node : this.getNodes()) {
-            distances.put(node, INFINITY);
-            visited.put(node, false);
-        }
-        distances.put(this.startNode, 0);
 
-        for (int i = 0; i < this.getNumNodes() - 1; i++) {
-            String currentNode = findMinDistance(distances, visited);
-            visited.put(currentNode, true);
 
-            List<Edge> neighbors = this.getNeighbors(currentNode);
 
-            for (Edge edge : neighbors) {
-                if (!edge.isAutoroute() || !sansAutoroute) {
-                    String neighborNode = edge.getDestination();
-                    int weight = edge.getWeight();
-                    int newDistance = distances.get(currentNode) + weight;
 
-                    if (!visited.get(neighborNode) && newDistance < distances.get(neighborNode)) {
-                        distances.put(neighborNode, newDistance);
-                        previousNode.put(neighborNode,currentNode);
-                        previousRoad.put(neighborNode,edge.getName());
-                    }
-                }
-            }
-        }
-        List<String> result = new ArrayList<>();
-        while (!endNode.equals(startNode)){
-            result.add(0,endNode);
-            result.add(0,previousRoad.get(endNode));
-            endNode = previousNode.get(endNode);
-        }
-        result.add(0,startNode);
-        return result;
+    public List<String> getShortestTrajectory(boolean sansAutoroute) {
+        return findRoute(startNode, endNode, new RouteOptions(sansAutoroute, Metric.DISTANCE, defaultAlgorithm()));
     }
 
     public List<String> getFastestPath(boolean sansAutoroutes) {
-        Map<String, Double> distances = new HashMap<>();
-        Map<String, Boolean> visited = new HashMap<>();
-        Map<String, String> previousNode = new HashMap<>();
-        Map<String, String> previousRoad = new HashMap<>();
-
-        for (String node : this.getNodes()) {
-            distances.put(node, Double.MAX_VALUE);
-            visited.put(node, false);
-        }
-        distances.put(this.startNode, 0.);
+        return findRoute(startNode, endNode, new RouteOptions(sansAutoroutes, Metric.TIME, defaultAlgorithm()));
+    }
 
-        for (int i = 0; i < this.getNumNodes() - 1; i++) {
-            String currentNode = findMinTime(distances, visited);
-            visited.put(currentNode, true);
+    private Algorithm defaultAlgorithm() {
+        CompactGraph frozen = compact;
+        return frozen != null && frozen.hasLandmarks() ? Algorithm.LANDMARKS : Algorithm.DIJKSTRA;
+    }
+
+    /**
+     * Requête sans état : le départ, l'arrivée et les options sont passés en paramètres, une
+     * même carte chargée peut donc être partagée entre plusieurs threads une fois construite.
+     */
+    public List<String> findRoute(String start, String end, RouteOptions options) {
+        return freeze().findRoute(start, end, options);
+    }
+
+    /**
+     * @see CompactGraph#findRoute(String, String, RouteOptions, IportMetrics)
+     */
+    public List<String> findRoute(String start, String end, RouteOptions options, IportMetrics metrics) {
+        return freeze().findRoute(start, end, options, metrics);
+    }
 
-            List<Edge> neighbors = this.getNeighbors(currentNode);
+    /**
+     * @see CompactGraph#requireRoute(String, String, RoadProfile)
+     */
+    public void requireRoute(String start, String end, RoadProfile profile) {
+        freeze().requireRoute(start, end, profile);
+    }
 
-            for (Edge edge : neighbors) {
-                if (!edge.isAutoroute() || !sansAutoroutes) {
-                    String neighborNode = edge.getDestination();
+    /**
+     * @see CompactGraph#findReachable(Collection, RouteOptions, double, ReachableTownListener)
+     */
+    public void findReachable(Collection<String> origins, RouteOptions options, double limit,
+                              ReachableTownListener listener) {
+        freeze().findReachable(origins, options, limit, listener);
+    }
 
-                    double time = (edge.getWeight() * 60) / edge.getSpeed();
-                    BigDecimal newDistance = BigDecimal.valueOf(distances.get(currentNode) + time);
-                    newDistance = newDistance.setScale(1, RoundingMode.HALF_UP);
+    /**
+     * Villes atteignables depuis {@code origin} en au plus {@code limit} km (ou minutes), avec leur coût,
+     * par coût croissant.
+     */
+    public Map<String, Double> findReachable(String origin, RouteOptions options, double limit) {
+        Map<String, Double> reachable = new LinkedHashMap<>();
+        findReachable(List.of(origin), options, limit, (town, cost, from) -> reachable.put(town, cost));
+        return reachable;
+    }
 
-                    if (!visited.get(neighborNode) && newDistance.doubleValue() < distances.get(neighborNode)) {
-                        distances.put(neighborNode, newDistance.doubleValue());
-                        previousNode.put(neighborNode,currentNode);
-                        previousRoad.put(neighborNode,edge.getName());
-                    }
+    /**
+     * @see CompactGraph#findAlternatives(String, String, RouteOptions, int)
+     */
+    public List<Route> findAlternatives(String start, String end, RouteOptions options, int count) {
+        return freeze().findAlternatives(start, end, options, count);
+    }
 
-                }
-            }
-        }
-        List<String> result = new ArrayList<>();
-        while (!endNode.equals(startNode)){
-            result.add(0,endNode);
-            result.add(0,previousRoad.get(endNode));
-            endNode = previousNode.get(endNode);
-        }
-        result.add(0,startNode);
-        //Collections.reverse(result);
-        return result;
+    /**
+     * @see CompactGraph#computeMatrix(List, List, RouteOptions, boolean)
+     */
+    public TravelMatrix computeMatrix(List<String> origins, List<String> destinations, RouteOptions options,
+                                      boolean withPaths) {
+        return freeze().computeMatrix(origins, destinations, options, withPaths);
     }
 
+    /**
+     * @see CompactGraph#computeMatrix(List, List, RouteOptions, boolean, BooleanSupplier)
+     */
+    public TravelMatrix computeMatrix(List<String> origins, List<String> destinations, RouteOptions options,
+                                      boolean withPaths, BooleanSupplier cancelled) {
+        return freeze().computeMatrix(origins, destinations, options, withPaths, cancelled);
+    }
 
+    /**
+     * @return vrai si l'algorithme des options répond sans rien construire : hiérarchie de contraction
+     * ou tables de repères déjà préparées quand il en a besoin
+     */
+    public boolean isPrepared(RouteOptions options) {
+        CompactGraph frozen = freeze();
+        switch (options.getAlgorithm()) {
+            case CONTRACTION_HIERARCHY:
+                return frozen.hasContractionHierarchy(options.getMetric(), options.getProfile());
+            case LANDMARKS:
+                return frozen.hasLandmarks();
+            default:
+                return true;
+        }
+    }
 
+    /**
+     * Compile dès maintenant les profils de restriction qui seront demandés, voir {@link CompactGraph#prepareProfile}.
+     */
+    public void prepareProfiles(RoadProfile... profiles) {
+        CompactGraph frozen = freeze();
+        for (RoadProfile profile : profiles) {
+            frozen.prepareProfile(profile);
+        }
+    }
 
+    /**
+     * Applique un lot de mises à jour du trafic sans recharger la carte : un nouvel instantané figé remplace
+     * l'ancien d'un seul coup, les requêtes en cours finissent sur l'ancien et les suivantes voient toutes
+     * les mises à jour du lot. Les arcs fermés disparaissent aussi des listes d'adjacence si la carte est
+     * ensuite modifiée par {@link #addEdge}. Les profils et hiérarchies préparés sont recalculés avant la
+     * substitution (voir {@link CompactGraph#withTraffic}).
+     */
+    public synchronized void applyTraffic(TrafficUpdate update) {
+        CompactGraph updated = freeze().withTraffic(update);
+        nodes = null;
+        adjacencyList = null;
+        compact = updated;
+    }
 
-    private String findMinTime(Map<String, Double> distances, Map<String, Boolean> visited) {
-        Double minDistance = Double.MAX_VALUE;
-        String minNode = null;
+    /**
+     * Prétraitement hors ligne : construit les hiérarchies de contraction pour les deux critères et
+     * les deux modes autoroute, afin que {@link Algorithm#CONTRACTION_HIERARCHY} ne paie rien à la première requête.
+     */
+    public void prepareContractionHierarchies() {
+        CompactGraph frozen = freeze();
+        for (Metric metric : Metric.values()) {
+            frozen.getContractionHierarchy(metric, false);
+            frozen.getContractionHierarchy(metric, true);
+        }
+    }
 
-        for (Map.Entry<String, Double> entry : distances.entrySet()) {
-            String node = entry.getKey();
-            Double distance = entry.getValue();
+    /**
+     * Prétraitement hors ligne des tables de repères de {@link Algorithm#LANDMARKS} ; une fois prêtes, elles
+     * guident aussi {@link #getShortestTrajectory} et {@link #getFastestPath}.
+     */
+    public void prepareLandmarks() {
+        freeze().getLandmarks();
+    }
 
-            if (!visited.get(node) && distance < minDistance) {
-                minDistance = distance;
-                minNode = node;
+    /**
+     * Construit (une seule fois tant que la carte n'est pas modifiée) la forme compacte
+     * sur laquelle s'exécutent les recherches.
+     */
+    public CompactGraph freeze() {
+        CompactGraph frozen = compact;
+        if (frozen == null) {
+            synchronized (this) {
+                frozen = compact;
+                if (frozen == null) {
+                    frozen = CompactGraph.of(this);
+                    compact = frozen;
+                }
             }
         }
-        return minNode;
+        return frozen;
     }
 
-    private String findMinDistance(Map<String, Integer> distances, Map<String, Boolean> visited) {
-        int minDistance = INFINITY;
-        String minNode = null;
 
-        for (Map.Entry<String, Integer> entry : distances.entrySet()) {
-            String node = entry.getKey();
-            int distance = entry.getValue();
-
-            if (!visited.get(node) && distance < minDistance) {
-                minDistance = distance;
-                minNode = node;
+    private synchronized void expand() {
+        if (nodes != null) {
+            return;
+        }
+        CompactGraph frozen = compact;
+        Set<String> expandedNodes = new LinkedHashSet<>();
+        Map<String, List<Edge>> expandedAdjacency = new LinkedHashMap<>();
+        for (int node = 0; node < frozen.getNumNodes(); node++) {
+            String name = frozen.getNodeName(node);
+            List<Edge> edges = new ArrayList<>(frozen.getFirstArc(node + 1) - frozen.getFirstArc(node));
+            for (int arc = frozen.getFirstArc(node); arc < frozen.getFirstArc(node + 1); arc++) {
+                if (frozen.isArcClosed(arc)) {
+                    continue;
+                }
+                edges.add(new Edge(frozen.getNodeName(frozen.getArcTarget(arc)), frozen.getArcWeight(arc),
+                        (int) frozen.getArcSpeed(arc), frozen.getRoadName(frozen.getArcRoad(arc))));
+            }
+            expandedNodes.add(name);
+            expandedAdjacency.put(name, edges);
+            if (!Double.isNaN(frozen.getLatitude(node))) {
+                coordinates.put(name, new double[]{frozen.getLatitude(node), frozen.getLongitude(node)});
             }
         }
-        return minNode;
+        adjacencyList = expandedAdjacency;
+        nodes = expandedNodes;
     }
 
-
     public void setStart(String startNode) {
         this.startNode = startNode;
     }
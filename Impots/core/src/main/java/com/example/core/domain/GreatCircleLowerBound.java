@@ -0,0 +1,39 @@
+package com.example.core.domain;
+
+/**
+ * Minorant géographique : distance orthodromique jusqu'à l'arrivée pour le critère distance, et cette
+ * même distance parcourue à la vitesse maximale de la carte, en dixièmes de minute, pour le critère temps. Il suppose que la
+ * longueur déclarée d'une route n'est jamais inférieure à la distance à vol d'oiseau entre ses villes ;
+ * une ville sans coordonnées donne un minorant nul.
+ */
+final class GreatCircleLowerBound implements LowerBound {
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final CompactGraph graph;
+    private final double targetLatitude;
+    private final double targetLongitude;
+    private final double cosTargetLatitude;
+    private final double costPerKm;
+
+    GreatCircleLowerBound(CompactGraph graph, int target, Metric metric) {
+        this.graph = graph;
+        this.targetLatitude = Math.toRadians(graph.getLatitude(target));
+        this.targetLongitude = Math.toRadians(graph.getLongitude(target));
+        this.cosTargetLatitude = Math.cos(targetLatitude);
+        this.costPerKm = metric == Metric.TIME ? 600.0 / graph.getMaxSpeed() : 1.0;
+    }
+
+    @Override
+    public double estimate(int node) {
+        double latitude = Math.toRadians(graph.getLatitude(node));
+        double longitude = Math.toRadians(graph.getLongitude(node));
+        if (Double.isNaN(latitude) || Double.isNaN(longitude) || Double.isNaN(targetLatitude)) {
+            return 0;
+        }
+        double sinLatitude = Math.sin((latitude - targetLatitude) / 2);
+        double sinLongitude = Math.sin((longitude - targetLongitude) / 2);
+        double a = sinLatitude * sinLatitude + Math.cos(latitude) * cosTargetLatitude * sinLongitude * sinLongitude;
+        double km = 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+        return km * costPerKm;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.core.domain;
+
+import java.util.Arrays;
+
+/**
+ * Tas binaire indexé par identifiant de nœud, avec diminution de clé en place.
+ * Aucune allocation pendant la recherche : les clés et positions sont des tableaux primitifs.
+ */
+final class IndexedMinHeap {
+    private final int[] heap;
+    private final int[] positions;
+    private final double[] keys;
+    private int size;
+    private long operations;
+
+    IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        positions = new int[capacity];
+        keys = new double[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(int node) {
+        return positions[node] >= 0;
+    }
+
+    double peekKey() {
+        return keys[heap[0]];
+    }
+
+    /**
+     * Insère le nœud, ou diminue sa clé s'il est déjà dans le tas.
+     */
+    void insertOrDecrease(int node, double key) {
+        int position = positions[node];
+        if (position < 0) {
+            position = size++;
+            heap[position] = node;
+            positions[node] = position;
+        } else if (key >= keys[node]) {
+            return;
+        }
+        operations++;
+        keys[node] = key;
+        siftUp(position);
+    }
+
+    /**
+     * Insère le nœud ou change sa clé, qu'elle augmente ou diminue.
+     */
+    void update(int node, double key) {
+        int position = positions[node];
+        if (position < 0 || key < keys[node]) {
+            insertOrDecrease(node, key);
+        } else if (key > keys[node]) {
+            keys[node] = key;
+            siftDown(position);
+        }
+    }
+
+    int poll() {
+        operations++;
+        int min = heap[0];
+        positions[min] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    /**
+     * @return insertions, diminutions de clé et extractions depuis la création du tas
+     */
+    long getOperations() {
+        return operations;
+    }
+
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int position) {
+        int node = heap[position];
+        double key = keys[node];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            int parentNode = heap[parent];
+            if (keys[parentNode] <= key) {
+                break;
+            }
+            heap[position] = parentNode;
+            positions[parentNode] = position;
+            position = parent;
+        }
+        heap[position] = node;
+        positions[node] = position;
+    }
+
+    private void siftDown(int position) {
+        int node = heap[position];
+        double key = keys[node];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < size && keys[heap[right]] < keys[heap[child]]) {
+                child = right;
+            }
+            int childNode = heap[child];
+            if (key <= keys[childNode]) {
+                break;
+            }
+            heap[position] = childNode;
+            positions[childNode] = position;
+            position = child;
+        }
+        heap[position] = node;
+        positions[node] = position;
+    }
+}
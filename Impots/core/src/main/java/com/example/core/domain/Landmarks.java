@@ -0,0 +1,197 @@
+package com.example.core.domain;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Tables ALT (A*, landmarks, inégalité triangulaire) : pour quelques villes repères, la distance en km et le
+ * temps de parcours en dixièmes de minute jusqu'à chaque ville, calculés sur toutes les routes ouvertes.
+ * Les routes étant à double sens, {@code |d(L, arrivée) - d(L, v)|} minore le coût de {@code v} à l'arrivée
+ * pour tout profil, puisqu'un profil ne fait que retirer des routes ou plafonner des vitesses.
+ */
+public final class Landmarks {
+    public static final int DEFAULT_COUNT = 16;
+    /**
+     * Valeur des tables pour une ville qu'aucune route ne relie au repère.
+     */
+    public static final int UNREACHABLE = -1;
+    private static final int ACTIVE = 4;
+
+    private final int[] nodes;
+    private final int[][] kilometres;
+    private final int[][] travelTimes;
+
+    private Landmarks(int[] nodes, int[][] kilometres, int[][] travelTimes) {
+        this.nodes = nodes;
+        this.kilometres = kilometres;
+        this.travelTimes = travelTimes;
+    }
+
+    /**
+     * Reconstruit des tables déjà calculées (par exemple relues depuis un fichier). Les tableaux ne sont
+     * pas copiés et ne doivent plus être modifiés.
+     *
+     * @param kilometres  une table par repère, indexée par ville
+     * @param travelTimes une table par repère, indexée par ville
+     */
+    public static Landmarks fromArrays(int[] nodes, int[][] kilometres, int[][] travelTimes) {
+        if (kilometres.length != nodes.length || travelTimes.length != nodes.length) {
+            throw new IllegalArgumentException("One table per landmark expected");
+        }
+        for (int landmark = 1; landmark < nodes.length; landmark++) {
+            if (kilometres[landmark].length != kilometres[0].length
+                    || travelTimes[landmark].length != kilometres[0].length) {
+                throw new IllegalArgumentException("Inconsistent landmark tables");
+            }
+        }
+        return new Landmarks(nodes, kilometres, travelTimes);
+    }
+
+    /**
+     * Choisit {@code count} repères par sélection du plus éloigné : chaque nouveau repère est la ville dont la
+     * distance au repère le plus proche est la plus grande, ce qui les place en périphérie de la carte (et
+     * en donne au moins un à chaque composante tant qu'il en reste).
+     */
+    static Landmarks select(CompactGraph graph, int count) {
+        Adjacency adjacency = graph.adjacency(RoadProfile.ALL_ROADS);
+        int numNodes = graph.getNumNodes();
+        int[] closest = new int[numNodes];
+        Arrays.fill(closest, Integer.MAX_VALUE);
+        IndexedMinHeap heap = new IndexedMinHeap(numNodes);
+
+        int[] nodes = new int[Math.min(count, numNodes)];
+        int[][] kilometres = new int[nodes.length][];
+        int selected = 0;
+        int candidate = numNodes == 0 ? 0 : farthest(shortestPaths(adjacency, heap, 0, false));
+        while (selected < nodes.length) {
+            nodes[selected] = candidate;
+            kilometres[selected] = shortestPaths(adjacency, heap, candidate, false);
+            for (int node = 0; node < numNodes; node++) {
+                int km = kilometres[selected][node];
+                if (km != UNREACHABLE && km < closest[node]) {
+                    closest[node] = km;
+                }
+            }
+            selected++;
+            candidate = farthest(closest);
+            if (closest[candidate] == 0) {
+                break;
+            }
+        }
+        int[] chosen = Arrays.copyOf(nodes, selected);
+        int[][] travelTimes = IntStream.range(0, selected).parallel()
+                .mapToObj(landmark -> shortestPaths(adjacency, new IndexedMinHeap(numNodes), chosen[landmark], true))
+                .toArray(int[][]::new);
+        return new Landmarks(chosen, Arrays.copyOf(kilometres, selected), travelTimes);
+    }
+
+    private static int farthest(int[] costs) {
+        int farthest = 0;
+        for (int node = 1; node < costs.length; node++) {
+            if (costs[node] > costs[farthest]) {
+                farthest = node;
+            }
+        }
+        return farthest;
+    }
+
+    /**
+     * Dijkstra complet depuis {@code source}.
+     */
+    private static int[] shortestPaths(Adjacency adjacency, IndexedMinHeap heap, int source, boolean byTime) {
+        int[] costs = new int[adjacency.offsets.length - 1];
+        Arrays.fill(costs, UNREACHABLE);
+        boolean[] settled = new boolean[costs.length];
+        heap.clear();
+        costs[source] = 0;
+        heap.insertOrDecrease(source, 0.);
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            settled[current] = true;
+            for (int edge = adjacency.offsets[current]; edge < adjacency.offsets[current + 1]; edge++) {
+                int neighbor = adjacency.targets[edge];
+                if (settled[neighbor]) {
+                    continue;
+                }
+                long newCost = (long) costs[current] + adjacency.cost(edge, byTime);
+                if (newCost >= Integer.MAX_VALUE) {
+                    // route à vitesse nulle : l'ignorer ne fait qu'allonger les tables, le minorant reste valide
+                    continue;
+                }
+                if (costs[neighbor] == UNREACHABLE || newCost < costs[neighbor]) {
+                    costs[neighbor] = (int) newCost;
+                    heap.insertOrDecrease(neighbor, newCost);
+                }
+            }
+        }
+        return costs;
+    }
+
+    public int getCount() {
+        return nodes.length;
+    }
+
+    public int getNumNodes() {
+        return nodes.length == 0 ? 0 : kilometres[0].length;
+    }
+
+    /**
+     * @return la ville qui sert de repère numéro {@code landmark}
+     */
+    public int getNode(int landmark) {
+        return nodes[landmark];
+    }
+
+    /**
+     * @return la table du repère (non copiée), {@link #UNREACHABLE} pour les villes qu'il n'atteint pas
+     */
+    public int[] getKilometres(int landmark) {
+        return kilometres[landmark];
+    }
+
+    /**
+     * @return la table du repère (non copiée), {@link #UNREACHABLE} pour les villes qu'il n'atteint pas
+     */
+    public int[] getTravelTimes(int landmark) {
+        return travelTimes[landmark];
+    }
+
+    /**
+     * Minorant vers {@code target} restreint aux quelques repères qui donnent le meilleur minorant au départ,
+     * pour que chaque estimation reste bon marché.
+     */
+    LowerBound lowerBound(int source, int target, Metric metric) {
+        int[][] tables = metric == Metric.TIME ? travelTimes : kilometres;
+        int[] bounds = new int[tables.length];
+        for (int landmark = 0; landmark < tables.length; landmark++) {
+            bounds[landmark] = bound(tables[landmark], source, target);
+        }
+        int[][] selected = new int[Math.min(ACTIVE, tables.length)][];
+        for (int i = 0; i < selected.length; i++) {
+            int best = 0;
+            for (int landmark = 1; landmark < tables.length; landmark++) {
+                if (bounds[landmark] > bounds[best]) {
+                    best = landmark;
+                }
+            }
+            selected[i] = tables[best];
+            bounds[best] = -1;
+        }
+        return node -> {
+            int estimate = 0;
+            for (int[] table : selected) {
+                estimate = Math.max(estimate, bound(table, node, target));
+            }
+            return estimate;
+        };
+    }
+
+    private static int bound(int[] table, int node, int target) {
+        int fromLandmark = table[node];
+        int toTarget = table[target];
+        if (fromLandmark == UNREACHABLE || toTarget == UNREACHABLE) {
+            return 0;
+        }
+        return Math.abs(toTarget - fromLandmark);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.core.domain;
+
+/**
+ * Minorant du coût restant entre un nœud et l'arrivée d'une requête, utilisé pour guider A*.
+ * Il ne doit jamais surestimer le coût réel, sans quoi l'itinéraire trouvé pourrait ne pas être optimal.
+ */
+interface LowerBound {
+    double estimate(int node);
+}
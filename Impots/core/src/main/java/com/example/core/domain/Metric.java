@@ -0,0 +1,9 @@
+package com.example.core.domain;
+
+/**
+ * Critère minimisé par une recherche d'itinéraire.
+ */
+public enum Metric {
+    DISTANCE,
+    TIME
+}
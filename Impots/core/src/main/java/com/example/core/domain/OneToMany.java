@@ -0,0 +1,117 @@
+package com.example.core.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Un arbre de plus courts chemins par origine : Dijkstra depuis l'origine, arrêté dès que toutes
+ * les destinations sont traitées, puis remontée des prédécesseurs pour les km, le temps et le chemin.
+ */
+final class OneToMany {
+    private static final int NO_NODE = -1;
+
+    private OneToMany() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static TravelMatrix computeMatrix(CompactGraph graph, List<String> origins, List<String> destinations,
+                                      RouteOptions options, boolean withPaths, BooleanSupplier cancelled) {
+        int numDestinations = destinations.size();
+        Adjacency adjacency = graph.adjacency(options.getProfile());
+        boolean byTime = options.getMetric() == Metric.TIME;
+        int[] destinationIds = new int[numDestinations];
+        boolean[] isDestination = new boolean[graph.getNumNodes()];
+        List<Integer> distinctDestinations = new ArrayList<>();
+        for (int column = 0; column < numDestinations; column++) {
+            int node = graph.getNodeId(destinations.get(column));
+            destinationIds[column] = node;
+            if (node != NO_NODE && !isDestination[node]) {
+                isDestination[node] = true;
+                distinctDestinations.add(node);
+            }
+        }
+
+        int[] kilometres = new int[origins.size() * numDestinations];
+        int[] travelTimes = new int[kilometres.length];
+        Arrays.fill(kilometres, TravelMatrix.UNREACHABLE);
+        Arrays.fill(travelTimes, TravelMatrix.UNREACHABLE);
+        List<String>[] paths = withPaths ? new List[kilometres.length] : null;
+
+        AtomicBoolean skipped = new AtomicBoolean();
+        graph.forEachOrigin(origins.size(), (search, row) -> {
+            if (cancelled.getAsBoolean()) {
+                skipped.set(true);
+                return;
+            }
+            int origin = graph.getNodeId(origins.get(row));
+            if (origin == NO_NODE) {
+                return;
+            }
+            // seules les destinations de la composante de l'origine peuvent être atteintes
+            int remaining = 0;
+            for (int destination : distinctDestinations) {
+                if (adjacency.areConnected(origin, destination)) {
+                    remaining++;
+                }
+            }
+            search(adjacency, search, origin, isDestination, remaining, byTime);
+            for (int column = 0; column < numDestinations; column++) {
+                int destination = destinationIds[column];
+                if (destination == NO_NODE || !search.isSettled(destination)) {
+                    continue;
+                }
+                int cell = row * numDestinations + column;
+                int km = 0;
+                int travelTime = 0;
+                for (int node = destination; node != origin; node = search.previousNode[node]) {
+                    km += adjacency.kilometres[search.previousArc[node]];
+                    travelTime += adjacency.travelTimes[search.previousArc[node]];
+                }
+                kilometres[cell] = km;
+                travelTimes[cell] = travelTime;
+                if (withPaths) {
+                    paths[cell] = Collections.unmodifiableList(
+                            graph.buildPath(adjacency, origin, destination, search.previousNode, search.previousArc));
+                }
+            }
+        });
+        if (skipped.get()) {
+            throw new CancellationException("Matrix computation cancelled");
+        }
+        return new TravelMatrix(origins, destinations, kilometres, travelTimes, paths);
+    }
+
+    private static void search(Adjacency adjacency, SearchScratch search, int origin, boolean[] isDestination,
+                               int remaining, boolean byTime) {
+        IndexedMinHeap heap = search.heap;
+
+        search.begin();
+        search.reach(origin, 0., NO_NODE, NO_NODE);
+        heap.insertOrDecrease(origin, 0.);
+
+        while (!heap.isEmpty() && remaining > 0) {
+            int current = heap.poll();
+            search.settle(current);
+            if (isDestination[current]) {
+                remaining--;
+            }
+            double currentCost = search.costs[current];
+            for (int edge = adjacency.offsets[current]; edge < adjacency.offsets[current + 1]; edge++) {
+                int neighbor = adjacency.targets[edge];
+                if (search.isSettled(neighbor)) {
+                    continue;
+                }
+                double newCost = currentCost + adjacency.cost(edge, byTime);
+                if (!search.isReached(neighbor) || newCost < search.costs[neighbor]) {
+                    search.reach(neighbor, newCost, current, edge);
+                    heap.insertOrDecrease(neighbor, newCost);
+                }
+            }
+        }
+    }
+}
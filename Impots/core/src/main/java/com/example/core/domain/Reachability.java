@@ -0,0 +1,55 @@
+package com.example.core.domain;
+
+import java.util.Collection;
+
+/**
+ * Accessibilité (isochrone) : Dijkstra depuis une ou plusieurs origines, arrêté dès que le plus petit coût
+ * restant dépasse la limite. Seules les villes de la frontière atteinte sont touchées, grâce aux
+ * numéros de passage des tampons de recherche.
+ */
+final class Reachability {
+    private static final int NO_NODE = -1;
+
+    private Reachability() {
+    }
+
+    static void search(CompactGraph graph, SearchScratch search, Collection<String> origins, RouteOptions options,
+                       double limit, ReachableTownListener listener) {
+        Adjacency adjacency = graph.adjacency(options.getProfile());
+        boolean byTime = options.getMetric() == Metric.TIME;
+        // les coûts du critère temps sont en dixièmes de minute
+        double scale = byTime ? 10 : 1;
+        double bound = limit * scale;
+        IndexedMinHeap heap = search.heap;
+        int[] sources = search.sources();
+
+        search.begin();
+        for (String origin : origins) {
+            int node = graph.getNodeId(origin);
+            if (node != NO_NODE && !search.isReached(node)) {
+                search.reach(node, 0., NO_NODE, NO_NODE);
+                sources[node] = node;
+                heap.insertOrDecrease(node, 0.);
+            }
+        }
+
+        while (!heap.isEmpty() && heap.peekKey() <= bound) {
+            int current = heap.poll();
+            search.settle(current);
+            double currentCost = search.costs[current];
+            listener.reached(graph.getNodeName(current), currentCost / scale, graph.getNodeName(sources[current]));
+            for (int edge = adjacency.offsets[current]; edge < adjacency.offsets[current + 1]; edge++) {
+                int neighbor = adjacency.targets[edge];
+                if (search.isSettled(neighbor)) {
+                    continue;
+                }
+                double newCost = currentCost + adjacency.cost(edge, byTime);
+                if (newCost <= bound && (!search.isReached(neighbor) || newCost < search.costs[neighbor])) {
+                    search.reach(neighbor, newCost, current, edge);
+                    sources[neighbor] = sources[current];
+                    heap.insertOrDecrease(neighbor, newCost);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.core.domain;
+
+/**
+ * Reçoit les villes atteintes par une recherche d'accessibilité, dans l'ordre croissant du coût.
+ * Il est appelé pendant la recherche, il ne doit donc pas lancer lui-même de recherche sur la même carte.
+ */
+@FunctionalInterface
+public interface ReachableTownListener {
+    /**
+     * @param town   ville atteinte
+     * @param cost   km, ou minutes pour le critère temps, depuis l'origine la plus proche
+     * @param origin origine la plus proche (utile avec plusieurs dépôts)
+     */
+    void reached(String town, double cost, String origin);
+}
@@ -0,0 +1,166 @@
+package com.example.core.domain;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Profil de restriction routière : routes interdites et vitesse plafonnée (par exemple un poids lourd
+ * limité à 90 km/h). Chaque carte figée compile un profil en une adjacence dédiée, une seule fois,
+ * si bien que le choix du profil ne coûte rien pendant la recherche. Le nom ne sert qu'à l'affichage : deux
+ * profils aux mêmes restrictions sont égaux et partagent leur adjacence, quel que soit leur nom.
+ */
+public final class RoadProfile {
+    public static final RoadProfile ALL_ROADS = new RoadProfile(null, false, false, 0, Collections.emptySet());
+    public static final RoadProfile SANS_AUTOROUTES = ALL_ROADS.withoutAutoroutes();
+
+    private final String name;
+    private final boolean sansAutoroutes;
+    private final boolean sansNationales;
+    private final float maxSpeed;
+    private final Set<String> avoidedRoads;
+
+    private RoadProfile(String name, boolean sansAutoroutes, boolean sansNationales, float maxSpeed,
+                        Set<String> avoidedRoads) {
+        this.name = name;
+        this.sansAutoroutes = sansAutoroutes;
+        this.sansNationales = sansNationales;
+        this.maxSpeed = maxSpeed;
+        this.avoidedRoads = avoidedRoads;
+    }
+
+    public static RoadProfile of(boolean sansAutoroutes) {
+        return sansAutoroutes ? SANS_AUTOROUTES : ALL_ROADS;
+    }
+
+    public RoadProfile named(String name) {
+        return new RoadProfile(name, sansAutoroutes, sansNationales, maxSpeed, avoidedRoads);
+    }
+
+    public RoadProfile withoutAutoroutes() {
+        return new RoadProfile(name, true, sansNationales, maxSpeed, avoidedRoads);
+    }
+
+    /**
+     * Évite les routes nationales (RN113, N7…).
+     */
+    public RoadProfile withoutNationales() {
+        return new RoadProfile(name, sansAutoroutes, true, maxSpeed, avoidedRoads);
+    }
+
+    /**
+     * @param maxSpeed vitesse maximale du véhicule en km/h ; les routes plus rapides sont parcourues à cette vitesse
+     */
+    public RoadProfile withMaxSpeed(float maxSpeed) {
+        if (maxSpeed <= 0) {
+            throw new IllegalArgumentException("Max speed must be positive: " + maxSpeed);
+        }
+        return new RoadProfile(name, sansAutoroutes, sansNationales, maxSpeed, avoidedRoads);
+    }
+
+    public RoadProfile avoiding(String... roads) {
+        Set<String> avoided = new LinkedHashSet<>(avoidedRoads);
+        avoided.addAll(Arrays.asList(roads));
+        return new RoadProfile(name, sansAutoroutes, sansNationales, maxSpeed, Collections.unmodifiableSet(avoided));
+    }
+
+    /**
+     * @return le nom donné par {@link #named}, sinon une description des restrictions (« sans autoroutes »...)
+     */
+    public String getName() {
+        return name != null ? name : describe();
+    }
+
+    private String describe() {
+        StringJoiner description = new StringJoiner(", ");
+        if (sansAutoroutes) {
+            description.add("sans autoroutes");
+        }
+        if (sansNationales) {
+            description.add("sans nationales");
+        }
+        if (maxSpeed > 0) {
+            description.add("max " + Math.round(maxSpeed) + " km/h");
+        }
+        if (!avoidedRoads.isEmpty()) {
+            description.add("sans " + String.join(", ", avoidedRoads));
+        }
+        return description.length() == 0 ? "toutes routes" : description.toString();
+    }
+
+    public boolean isSansAutoroutes() {
+        return sansAutoroutes;
+    }
+
+    public boolean isSansNationales() {
+        return sansNationales;
+    }
+
+    /**
+     * @return la vitesse plafond en km/h, 0 si le profil n'en a pas
+     */
+    public float getMaxSpeed() {
+        return maxSpeed;
+    }
+
+    public Set<String> getAvoidedRoads() {
+        return avoidedRoads;
+    }
+
+    /**
+     * @return vrai si le profil autorise la route
+     */
+    public boolean allows(String roadName, boolean autoroute) {
+        return !(sansAutoroutes && autoroute)
+                && !(sansNationales && isNationaleName(roadName))
+                && !avoidedRoads.contains(roadName);
+    }
+
+    /**
+     * @return la vitesse réellement pratiquée sur une route limitée à {@code speed}
+     */
+    public float speedOn(float speed) {
+        return maxSpeed > 0 ? Math.min(speed, maxSpeed) : speed;
+    }
+
+    /**
+     * Une route nationale s'écrit « RN » ou « N » suivi d'un numéro (RN113, N7, RN 96…).
+     */
+    static boolean isNationaleName(String name) {
+        if (name == null) {
+            return false;
+        }
+        String trimmed = name.trim();
+        int prefix = trimmed.startsWith("RN") ? 2 : trimmed.startsWith("N") ? 1 : 0;
+        if (prefix == 0) {
+            return false;
+        }
+        if (prefix < trimmed.length() && trimmed.charAt(prefix) == ' ') {
+            prefix++;
+        }
+        return prefix < trimmed.length() && Character.isDigit(trimmed.charAt(prefix));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof RoadProfile)) {
+            return false;
+        }
+        RoadProfile other = (RoadProfile) o;
+        return sansAutoroutes == other.sansAutoroutes && sansNationales == other.sansNationales
+                && maxSpeed == other.maxSpeed && avoidedRoads.equals(other.avoidedRoads);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sansAutoroutes, sansNationales, maxSpeed, avoidedRoads);
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.core.domain;
+
+import java.util.List;
+
+/**
+ * Un itinéraire [ville, route, ville, ...] avec sa longueur et son temps de parcours.
+ */
+public final class Route {
+    private final List<String> path;
+    private final int kilometres;
+    private final int travelTime;
+
+    Route(List<String> path, int kilometres, int travelTime) {
+        this.path = path;
+        this.kilometres = kilometres;
+        this.travelTime = travelTime;
+    }
+
+    public List<String> getPath() {
+        return path;
+    }
+
+    public int getKilometres() {
+        return kilometres;
+    }
+
+    /**
+     * @return le temps de parcours en dixièmes de minute
+     */
+    public int getTravelTime() {
+        return travelTime;
+    }
+
+    public double getMinutes() {
+        return travelTime / 10.0;
+    }
+}
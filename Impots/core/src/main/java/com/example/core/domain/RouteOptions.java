@@ -0,0 +1,56 @@
+package com.example.core.domain;
+
+/**
+ * Options d'une requête d'itinéraire, passées à chaque appel plutôt que stockées dans la carte.
+ */
+public final class RouteOptions {
+    private final RoadProfile profile;
+    private final Metric metric;
+    private final Algorithm algorithm;
+
+    public RouteOptions(boolean sansAutoroutes, Metric metric) {
+        this(sansAutoroutes, metric, Algorithm.DIJKSTRA);
+    }
+
+    public RouteOptions(boolean sansAutoroutes, Metric metric, Algorithm algorithm) {
+        this(RoadProfile.of(sansAutoroutes), metric, algorithm);
+    }
+
+    public RouteOptions(RoadProfile profile, Metric metric) {
+        this(profile, metric, Algorithm.DIJKSTRA);
+    }
+
+    public RouteOptions(RoadProfile profile, Metric metric, Algorithm algorithm) {
+        this.profile = profile;
+        this.metric = metric;
+        this.algorithm = algorithm;
+    }
+
+    public static RouteOptions of(boolean sansAutoroutes, boolean isSpeedChoice) {
+        return new RouteOptions(sansAutoroutes, isSpeedChoice ? Metric.TIME : Metric.DISTANCE);
+    }
+
+    public boolean isSansAutoroutes() {
+        return profile.isSansAutoroutes();
+    }
+
+    public RoadProfile getProfile() {
+        return profile;
+    }
+
+    public Metric getMetric() {
+        return metric;
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public RouteOptions withAlgorithm(Algorithm algorithm) {
+        return new RouteOptions(profile, metric, algorithm);
+    }
+
+    public RouteOptions withProfile(RoadProfile profile) {
+        return new RouteOptions(profile, metric, algorithm);
+    }
+}
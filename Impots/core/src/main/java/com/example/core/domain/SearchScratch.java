@@ -0,0 +1,138 @@
+package com.example.core.domain;
+
+import java.util.Arrays;
+
+/**
+ * Tampons de travail d'une recherche, réutilisés d'une requête à l'autre par le même thread.
+ * Un numéro de passage ({@code stamp}) évite de réinitialiser les tableaux à chaque requête :
+ * un nœud n'a de coût valide que si {@code reached[v] == stamp}.
+ */
+final class SearchScratch {
+    final double[] costs;
+    final int[] previousNode;
+    final int[] previousArc;
+    final int[] reached;
+    final int[] settled;
+    final IndexedMinHeap heap;
+    private int stamp;
+    private SearchScratch backward;
+    private int[] sources;
+    private int[] edgePenalties;
+    private int[] penaltyStamps;
+    private int penaltyStamp;
+    private long settledCount;
+    private long reachedCount;
+
+    SearchScratch(int numNodes) {
+        costs = new double[numNodes];
+        previousNode = new int[numNodes];
+        previousArc = new int[numNodes];
+        reached = new int[numNodes];
+        settled = new int[numNodes];
+        heap = new IndexedMinHeap(numNodes);
+    }
+
+    /**
+     * Second jeu de tampons, pour la recherche arrière des algorithmes bidirectionnels.
+     */
+    SearchScratch backward() {
+        if (backward == null) {
+            backward = new SearchScratch(costs.length);
+        }
+        return backward;
+    }
+
+    /**
+     * Origine de chaque nœud atteint, pour les recherches à plusieurs origines ; valide si le nœud est atteint.
+     */
+    int[] sources() {
+        if (sources == null) {
+            sources = new int[costs.length];
+        }
+        return sources;
+    }
+
+    /**
+     * Nœuds traités depuis la création des tampons, recherche arrière comprise.
+     */
+    long settledCount() {
+        return settledCount + (backward == null ? 0 : backward.settledCount);
+    }
+
+    /**
+     * Coûts améliorés depuis la création des tampons, recherche arrière comprise.
+     */
+    long reachedCount() {
+        return reachedCount + (backward == null ? 0 : backward.reachedCount);
+    }
+
+    /**
+     * Opérations de tas depuis la création des tampons, recherche arrière comprise.
+     */
+    long heapOperations() {
+        return heap.getOperations() + (backward == null ? 0 : backward.heap.getOperations());
+    }
+
+    /**
+     * Démarre une nouvelle recherche et renvoie son numéro de passage.
+     */
+    int begin() {
+        heap.clear();
+        stamp++;
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(reached, 0);
+            Arrays.fill(settled, 0);
+            stamp = 1;
+        }
+        return stamp;
+    }
+
+    /**
+     * Remet à zéro les pénalités d'arcs (calcul d'itinéraires alternatifs), sans parcourir les tableaux.
+     */
+    void beginPenalties(int numEdges) {
+        if (edgePenalties == null || edgePenalties.length < numEdges) {
+            edgePenalties = new int[numEdges];
+            penaltyStamps = new int[numEdges];
+            penaltyStamp = 0;
+        }
+        penaltyStamp++;
+        if (penaltyStamp == Integer.MAX_VALUE) {
+            Arrays.fill(penaltyStamps, 0);
+            penaltyStamp = 1;
+        }
+    }
+
+    /**
+     * @return le nombre d'itinéraires déjà retenus qui empruntent cet arc
+     */
+    int getPenalty(int edge) {
+        return penaltyStamps[edge] == penaltyStamp ? edgePenalties[edge] : 0;
+    }
+
+    void penalize(int edge) {
+        edgePenalties[edge] = getPenalty(edge) + 1;
+        penaltyStamps[edge] = penaltyStamp;
+    }
+
+    boolean isReached(int node) {
+        return reached[node] == stamp;
+    }
+
+    boolean isSettled(int node) {
+        return settled[node] == stamp;
+    }
+
+    void settle(int node) {
+        settled[node] = stamp;
+        settledCount++;
+    }
+
+    void reach(int node, double cost, int fromNode, int viaArc) {
+        reached[node] = stamp;
+        reachedCount++;
+        costs[node] = cost;
+        previousNode[node] = fromNode;
+        previousArc[node] = viaArc;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.core.domain;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Lot de mises à jour du trafic, appliqué d'un bloc par {@link GraphMap#applyTraffic} : nouvelles vitesses
+ * et fermetures, par nom de route (tous ses arcs) ou par identifiant d'arc de la {@link CompactGraph}.
+ * Les mises à jour par arc s'appliquent après celles par route, à l'arc et à son arc retour.
+ */
+public final class TrafficUpdate {
+    private final Map<String, Float> roadSpeeds = new LinkedHashMap<>();
+    private final Map<String, Boolean> roadClosures = new LinkedHashMap<>();
+    private final Map<Integer, Float> arcSpeeds = new LinkedHashMap<>();
+    private final Map<Integer, Boolean> arcClosures = new LinkedHashMap<>();
+
+    /**
+     * @param speed nouvelle vitesse en km/h, strictement positive (utiliser {@link #close} pour fermer la route)
+     */
+    public TrafficUpdate setSpeed(String road, float speed) {
+        roadSpeeds.put(road, checkSpeed(speed));
+        return this;
+    }
+
+    public TrafficUpdate close(String road) {
+        roadClosures.put(road, true);
+        return this;
+    }
+
+    public TrafficUpdate reopen(String road) {
+        roadClosures.put(road, false);
+        return this;
+    }
+
+    public TrafficUpdate setArcSpeed(int arc, float speed) {
+        arcSpeeds.put(arc, checkSpeed(speed));
+        return this;
+    }
+
+    public TrafficUpdate closeArc(int arc) {
+        arcClosures.put(arc, true);
+        return this;
+    }
+
+    public TrafficUpdate reopenArc(int arc) {
+        arcClosures.put(arc, false);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return roadSpeeds.isEmpty() && roadClosures.isEmpty() && arcSpeeds.isEmpty() && arcClosures.isEmpty();
+    }
+
+    Map<String, Float> getRoadSpeeds() {
+        return roadSpeeds;
+    }
+
+    Map<String, Boolean> getRoadClosures() {
+        return roadClosures;
+    }
+
+    Map<Integer, Float> getArcSpeeds() {
+        return arcSpeeds;
+    }
+
+    Map<Integer, Boolean> getArcClosures() {
+        return arcClosures;
+    }
+
+    private static float checkSpeed(float speed) {
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("Speed must be positive: " + speed);
+        }
+        return speed;
+    }
+}
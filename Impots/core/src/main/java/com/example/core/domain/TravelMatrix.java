@@ -0,0 +1,84 @@
+package com.example.core.domain;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Matrice origines × destinations : km et temps de parcours du meilleur chemin de chaque case
+ * (au sens du critère demandé), rangés ligne par ligne dans des tableaux d'entiers.
+ */
+public final class TravelMatrix {
+    public static final int UNREACHABLE = -1;
+
+    private final List<String> origins;
+    private final List<String> destinations;
+    private final int[] kilometres;
+    private final int[] travelTimes;
+    private final List<String>[] paths;
+
+    TravelMatrix(List<String> origins, List<String> destinations, int[] kilometres, int[] travelTimes,
+                 List<String>[] paths) {
+        this.origins = origins;
+        this.destinations = destinations;
+        this.kilometres = kilometres;
+        this.travelTimes = travelTimes;
+        this.paths = paths;
+    }
+
+    public List<String> getOrigins() {
+        return origins;
+    }
+
+    public List<String> getDestinations() {
+        return destinations;
+    }
+
+    public boolean isReachable(int origin, int destination) {
+        return kilometres[index(origin, destination)] != UNREACHABLE;
+    }
+
+    /**
+     * @return la longueur du chemin en km, ou {@link #UNREACHABLE}
+     */
+    public int getKilometres(int origin, int destination) {
+        return kilometres[index(origin, destination)];
+    }
+
+    /**
+     * @return le temps de parcours en dixièmes de minute, ou {@link #UNREACHABLE}
+     */
+    public int getTravelTime(int origin, int destination) {
+        return travelTimes[index(origin, destination)];
+    }
+
+    /**
+     * @return le temps de parcours en minutes, ou {@code NaN} si la destination n'est pas atteignable
+     */
+    public double getMinutes(int origin, int destination) {
+        int travelTime = getTravelTime(origin, destination);
+        return travelTime == UNREACHABLE ? Double.NaN : travelTime / 10.0;
+    }
+
+    public boolean hasPaths() {
+        return paths != null;
+    }
+
+    /**
+     * @return [ville, route, ville, ...], ou une liste vide si les chemins n'ont pas été demandés
+     * ou si la destination n'est pas atteignable
+     */
+    public List<String> getPath(int origin, int destination) {
+        if (paths == null) {
+            return Collections.emptyList();
+        }
+        List<String> path = paths[index(origin, destination)];
+        return path == null ? Collections.emptyList() : path;
+    }
+
+    private int index(int origin, int destination) {
+        if (origin < 0 || origin >= origins.size() || destination < 0 || destination >= destinations.size()) {
+            throw new IndexOutOfBoundsException("No cell (" + origin + ", " + destination + ")");
+        }
+        return origin * destinations.size() + destination;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.core.exceptions;
+
+public class UnknownTownException extends RuntimeException {
+    private final String town;
+
+    public UnknownTownException(String town) {
+        super("Unknown town: " + town);
+        this.town = town;
+    }
+
+    public String getTown() {
+        return town;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.core.exceptions;
+
+public class UnreachableDestinationException extends RuntimeException {
+    private final String start;
+    private final String end;
+
+    public UnreachableDestinationException(String start, String end) {
+        super("No route from " + start + " to " + end);
+        this.start = start;
+        this.end = end;
+    }
+
+    public String getStart() {
+        return start;
+    }
+
+    public String getEnd() {
+        return end;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.core.port;
+
+import com.example.core.domain.RouteOptions;
+
+/**
+ * Mesures remontées par les recherches et les chargements de cartes. Chaque méthode ne fait rien par défaut :
+ * une implémentation ne redéfinit que ce qui l'intéresse, et {@link #NONE} ne coûte pas même la prise de temps.
+ */
+public interface IportMetrics {
+    IportMetrics NONE = new IportMetrics() {
+    };
+
+    /**
+     * Une recherche d'itinéraire a abouti (avec ou sans chemin).
+     *
+     * @param settledNodes   nœuds traités, toutes directions confondues
+     * @param relaxedEdges   arcs qui ont amélioré le coût de leur cible
+     * @param heapOperations insertions, diminutions de clé et extractions du tas
+     */
+    default void routeSearched(RouteOptions options, long nanos, long settledNodes, long relaxedEdges,
+                               long heapOperations) {
+    }
+
+    /**
+     * Une carte a été lue depuis sa source.
+     */
+    default void mapLoaded(String source, long nanos, long bytes) {
+    }
+
+    /**
+     * Une carte a été demandée au dépôt en cache.
+     *
+     * @param cached vrai si elle était déjà en mémoire
+     */
+    default void mapRequested(int graphNr, boolean cached) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.core.usecase;
+
+import com.example.core.domain.GraphMap;
+import com.example.core.domain.RouteOptions;
+import com.example.core.domain.TravelMatrix;
+import com.example.core.exceptions.MapNotFoundException;
+import com.example.core.port.IportMapsRepository;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Distances et temps de parcours entre plusieurs dépôts et clients, calculés en une seule passe
+ * sur une carte chargée une fois.
+ */
+public class CalculMatrice {
+    private final IportMapsRepository iportMapsRepository;
+    private final ForkJoinPool pool;
+
+    public CalculMatrice(IportMapsRepository iportMapsRepository) {
+        this(iportMapsRepository, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool pool sur lequel les origines sont réparties ; son parallélisme borne le nombre de
+     *             recherches simultanées
+     */
+    public CalculMatrice(IportMapsRepository iportMapsRepository, ForkJoinPool pool) {
+        this.iportMapsRepository = iportMapsRepository;
+        this.pool = pool;
+    }
+
+    public TravelMatrix execute(int mapNr, List<String> origins, List<String> destinations, boolean isSansAutoroutes,
+                                boolean isSpeedChoice) throws MapNotFoundException {
+        return execute(mapNr, origins, destinations, RouteOptions.of(isSansAutoroutes, isSpeedChoice), false);
+    }
+
+    public TravelMatrix execute(int mapNr, List<String> origins, List<String> destinations, RouteOptions options,
+                                boolean withPaths) throws MapNotFoundException {
+        return execute(mapNr, origins, destinations, options, withPaths, () -> false);
+    }
+
+    /**
+     * @param cancelled abandonne les origines pas encore commencées dès qu'il devient vrai
+     * @throws java.util.concurrent.CancellationException si des origines ont été abandonnées
+     */
+    public TravelMatrix execute(int mapNr, List<String> origins, List<String> destinations, RouteOptions options,
+                                boolean withPaths, BooleanSupplier cancelled) throws MapNotFoundException {
+        GraphMap graphMap = iportMapsRepository.getGraphMap(mapNr);
+        return pool.submit(() -> graphMap.computeMatrix(origins, destinations, options, withPaths, cancelled)).join();
+    }
+}
@@ -1,22 +1,71 @@
 package com.example.core.usecase;
 
+import com.example.core.domain.CompactGraph;
 import com.example.core.domain.GraphMap;
+import com.example.core.domain.Route;
+import com.example.core.domain.RouteOptions;
 import com.example.core.exceptions.MapNotFoundException;
+import com.example.core.exceptions.UnknownTownException;
+import com.example.core.exceptions.UnreachableDestinationException;
 import com.example.core.port.IportMapsRepository;
+import com.example.core.port.IportMetrics;
 
 import java.util.List;
 
 public class CalculTrajectoire {
     private final IportMapsRepository iportMapsRepository;
+    private final RouteCache routeCache;
+    private final IportMetrics metrics;
 
     public CalculTrajectoire(IportMapsRepository iportMapsRepository) {
+        this(iportMapsRepository, null);
+    }
+
+    /**
+     * @param routeCache cache des itinéraires déjà calculés, ou null pour toujours relancer la recherche
+     */
+    public CalculTrajectoire(IportMapsRepository iportMapsRepository, RouteCache routeCache) {
+        this(iportMapsRepository, routeCache, IportMetrics.NONE);
+    }
+
+    /**
+     * @param metrics reçoit la durée et les compteurs de chaque recherche effectivement lancée
+     */
+    public CalculTrajectoire(IportMapsRepository iportMapsRepository, RouteCache routeCache, IportMetrics metrics) {
         this.iportMapsRepository = iportMapsRepository;
+        this.routeCache = routeCache;
+        this.metrics = metrics;
     }
 
     public List<String> execute(int mapNr,String start, String end, boolean isSansAutoroutes, boolean isSpeedChoice) throws MapNotFoundException {
+        return execute(mapNr, start, end, RouteOptions.of(isSansAutoroutes, isSpeedChoice));
+    }
+
+    /**
+     * @throws UnknownTownException            si le départ ou l'arrivée n'est pas dans la carte
+     * @throws UnreachableDestinationException si aucune route du profil ne les relie
+     */
+    public List<String> execute(int mapNr, String start, String end, RouteOptions options) throws MapNotFoundException {
+        GraphMap graphMap = iportMapsRepository.getGraphMap(mapNr);
+        graphMap.requireRoute(start, end, options.getProfile());
+        if (routeCache == null) {
+            return graphMap.findRoute(start, end, options, metrics);
+        }
+        CompactGraph graph = graphMap.freeze();
+        List<String> route = routeCache.get(mapNr, start, end, options, graph);
+        if (route == null) {
+            route = routeCache.put(mapNr, start, end, options, graph, graph.findRoute(start, end, options, metrics));
+        }
+        return route;
+    }
+
+    /**
+     * @return jusqu'à {@code count} itinéraires, le meilleur en premier, avec leurs km et minutes
+     */
+    public List<Route> executeAlternatives(int mapNr, String start, String end, RouteOptions options, int count)
+            throws MapNotFoundException {
         GraphMap graphMap = iportMapsRepository.getGraphMap(mapNr);
-        graphMap.setStart(start);
-        graphMap.setEnd(end);
-        return (isSpeedChoice?graphMap.getFastestPath(isSansAutoroutes) :graphMap.getShortestTrajectory(isSansAutoroutes) );
+        graphMap.requireRoute(start, end, options.getProfile());
+        return graphMap.findAlternatives(start, end, options, count);
     }
 }
@@ -0,0 +1,92 @@
+package com.example.core.usecase;
+
+import com.example.core.domain.GraphMap;
+import com.example.core.exceptions.MapNotFoundException;
+import com.example.core.port.IportMapsRepository;
+import com.example.core.port.IportMetrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Exécution d'un lot de requêtes : les requêtes sont regroupées par carte pour ne demander chaque
+ * carte qu'une fois au dépôt, puis exécutées en parallèle sur un pool fork-join borné. Une requête en
+ * échec (carte introuvable, erreur inattendue) n'interrompt pas les autres.
+ */
+public class CalculTrajectoiresEnLot {
+    private final IportMapsRepository iportMapsRepository;
+    private final ForkJoinPool pool;
+    private final IportMetrics metrics;
+
+    public CalculTrajectoiresEnLot(IportMapsRepository iportMapsRepository) {
+        this(iportMapsRepository, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool pool sur lequel s'exécutent le chargement des cartes et les recherches ; son
+     *             parallélisme borne le nombre de requêtes simultanées
+     */
+    public CalculTrajectoiresEnLot(IportMapsRepository iportMapsRepository, ForkJoinPool pool) {
+        this(iportMapsRepository, pool, IportMetrics.NONE);
+    }
+
+    /**
+     * @param metrics reçoit la durée et les compteurs de chaque recherche
+     */
+    public CalculTrajectoiresEnLot(IportMapsRepository iportMapsRepository, ForkJoinPool pool, IportMetrics metrics) {
+        this.iportMapsRepository = iportMapsRepository;
+        this.pool = pool;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @return un résultat par requête, dans l'ordre des requêtes
+     */
+    public List<RouteResult> execute(List<RouteQuery> queries) {
+        return execute(queries, () -> false);
+    }
+
+    /**
+     * Même lot, dont les requêtes pas encore commencées échouent avec une {@link CancellationException}
+     * dès que {@code cancelled} devient vrai.
+     */
+    public List<RouteResult> execute(List<RouteQuery> queries, BooleanSupplier cancelled) {
+        Map<Integer, List<Integer>> queriesByMap = new LinkedHashMap<>();
+        for (int index = 0; index < queries.size(); index++) {
+            queriesByMap.computeIfAbsent(queries.get(index).getMapNr(), k -> new ArrayList<>()).add(index);
+        }
+
+        RouteResult[] results = new RouteResult[queries.size()];
+        pool.submit(() -> queriesByMap.entrySet().parallelStream().forEach(group -> {
+            GraphMap graphMap;
+            try {
+                graphMap = iportMapsRepository.getGraphMap(group.getKey());
+            } catch (MapNotFoundException | RuntimeException e) {
+                for (int index : group.getValue()) {
+                    results[index] = RouteResult.failure(queries.get(index), e);
+                }
+                return;
+            }
+            group.getValue().parallelStream().forEach(index -> results[index] = cancelled.getAsBoolean()
+                    ? RouteResult.failure(queries.get(index), new CancellationException("Batch cancelled"))
+                    : execute(graphMap, queries.get(index)));
+        })).join();
+        return Arrays.asList(results);
+    }
+
+    private RouteResult execute(GraphMap graphMap, RouteQuery query) {
+        try {
+            graphMap.requireRoute(query.getStart(), query.getEnd(), query.getOptions().getProfile());
+            return RouteResult.success(query, graphMap.findRoute(query.getStart(), query.getEnd(), query.getOptions(),
+                    metrics));
+        } catch (RuntimeException e) {
+            return RouteResult.failure(query, e);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.core.usecase;
+
+import com.example.core.domain.Algorithm;
+import com.example.core.domain.CompactGraph;
+import com.example.core.domain.Metric;
+import com.example.core.domain.RoadProfile;
+import com.example.core.domain.RouteOptions;
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache borné des itinéraires déjà calculés, avec éviction LRU.
+ * Chaque entrée retient la version figée de la carte qui l'a produite : dès que le dépôt renvoie une
+ * carte rechargée (ou que la carte est modifiée), l'entrée n'est plus servie.
+ */
+public class RouteCache {
+    private final int maxEntries;
+    private final LinkedHashMap<Key, Entry> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public RouteCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > RouteCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @return l'itinéraire en cache pour cette version de la carte, ou null
+     */
+    List<String> get(int mapNr, String start, String end, RouteOptions options, CompactGraph graph) {
+        Key key = new Key(mapNr, start, end, options);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.graph.get() == graph) {
+                hits.incrementAndGet();
+                return entry.route;
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * @return la copie non modifiable de l'itinéraire, telle qu'elle est gardée en cache
+     */
+    List<String> put(int mapNr, String start, String end, RouteOptions options, CompactGraph graph,
+                     List<String> route) {
+        List<String> cached = List.copyOf(route);
+        synchronized (entries) {
+            entries.put(new Key(mapNr, start, end, options), new Entry(graph, cached));
+        }
+        return cached;
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private static final class Key {
+        private final int mapNr;
+        private final String start;
+        private final String end;
+        private final RoadProfile profile;
+        private final Metric metric;
+        private final Algorithm algorithm;
+
+        Key(int mapNr, String start, String end, RouteOptions options) {
+            this.mapNr = mapNr;
+            this.start = start;
+            this.end = end;
+            this.profile = options.getProfile();
+            this.metric = options.getMetric();
+            this.algorithm = options.getAlgorithm();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return mapNr == other.mapNr && profile.equals(other.profile) && metric == other.metric
+                    && algorithm == other.algorithm && Objects.equals(start, other.start)
+                    && Objects.equals(end, other.end);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(mapNr, start, end, profile, metric, algorithm);
+        }
+    }
+
+    private static final class Entry {
+        private final WeakReference<CompactGraph> graph;
+        private final List<String> route;
+
+        Entry(CompactGraph graph, List<String> route) {
+            this.graph = new WeakReference<>(graph);
+            this.route = route;
+        }
+    }
+}
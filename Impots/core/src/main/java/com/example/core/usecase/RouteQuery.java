@@ -0,0 +1,40 @@
+package com.example.core.usecase;
+
+import com.example.core.domain.RouteOptions;
+
+/**
+ * Une requête d'itinéraire d'un lot : les mêmes paramètres que {@link CalculTrajectoire#execute}.
+ */
+public final class RouteQuery {
+    private final int mapNr;
+    private final String start;
+    private final String end;
+    private final RouteOptions options;
+
+    public RouteQuery(int mapNr, String start, String end, boolean isSansAutoroutes, boolean isSpeedChoice) {
+        this(mapNr, start, end, RouteOptions.of(isSansAutoroutes, isSpeedChoice));
+    }
+
+    public RouteQuery(int mapNr, String start, String end, RouteOptions options) {
+        this.mapNr = mapNr;
+        this.start = start;
+        this.end = end;
+        this.options = options;
+    }
+
+    public int getMapNr() {
+        return mapNr;
+    }
+
+    public String getStart() {
+        return start;
+    }
+
+    public String getEnd() {
+        return end;
+    }
+
+    public RouteOptions getOptions() {
+        return options;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.core.usecase;
+
+import java.util.List;
+
+/**
+ * Résultat d'une requête d'un lot : l'itinéraire, ou l'erreur propre à cette requête.
+ */
+public final class RouteResult {
+    private final RouteQuery query;
+    private final List<String> route;
+    private final Exception error;
+
+    private RouteResult(RouteQuery query, List<String> route, Exception error) {
+        this.query = query;
+        this.route = route;
+        this.error = error;
+    }
+
+    static RouteResult success(RouteQuery query, List<String> route) {
+        return new RouteResult(query, route, null);
+    }
+
+    static RouteResult failure(RouteQuery query, Exception error) {
+        return new RouteResult(query, List.of(), error);
+    }
+
+    public RouteQuery getQuery() {
+        return query;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * @return [ville, route, ville, ...], vide si aucun chemin n'existe ou si la requête a échoué
+     */
+    public List<String> getRoute() {
+        return route;
+    }
+
+    /**
+     * @return l'erreur de cette requête (par exemple {@link com.example.core.exceptions.MapNotFoundException}), ou null
+     */
+    public Exception getError() {
+        return error;
+    }
+}